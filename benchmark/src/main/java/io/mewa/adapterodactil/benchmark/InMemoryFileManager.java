@@ -0,0 +1,65 @@
+package io.mewa.adapterodactil.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * File manager keeping all compilation output in memory
+ */
+class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+    private final List<Output> generatedSources = new ArrayList<>();
+
+    InMemoryFileManager(JavaFileManager fileManager) {
+        super(fileManager);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+        Output output = new Output(className, kind);
+        if (location == StandardLocation.SOURCE_OUTPUT)
+            generatedSources.add(output);
+        return output;
+    }
+
+    /**
+     * @return total size of generated sources in bytes
+     */
+    long generatedSourceSize() {
+        long size = 0;
+        for (Output output : generatedSources)
+            size += output.bytes.size();
+        return size;
+    }
+
+    int generatedSourceCount() {
+        return generatedSources.size();
+    }
+
+    private static class Output extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Output(String className, Kind kind) {
+            super(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return bytes.toString();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.mewa.adapterodactil.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import io.mewa.adapterodactil.AdapterProcessor;
+
+/**
+ * Measures how {@link AdapterProcessor} scales by compiling synthetic sources in memory.
+ * <p>
+ * Usage: {@code ProcessorBenchmark [adapters] [viewTypes] [rows] [iterations] [warmup]}
+ */
+public class ProcessorBenchmark {
+    private final int adapters;
+    private final int viewTypes;
+    private final int rows;
+    private final JavaCompiler compiler;
+    private final ThreadMXBean threads;
+
+    private ProcessorBenchmark(int adapters, int viewTypes, int rows) {
+        this.adapters = adapters;
+        this.viewTypes = viewTypes;
+        this.rows = rows;
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null)
+            throw new IllegalStateException("No system Java compiler available, run the benchmark using a JDK");
+        this.threads = ManagementFactory.getThreadMXBean();
+    }
+
+    public static void main(String[] args) {
+        int adapters = arg(args, 0, 150);
+        int viewTypes = arg(args, 1, 3);
+        int rows = arg(args, 2, 10);
+        int iterations = arg(args, 3, 10);
+        int warmup = arg(args, 4, 5);
+
+        ProcessorBenchmark benchmark = new ProcessorBenchmark(adapters, viewTypes, rows);
+        System.out.println(String.format(Locale.US, "adapters=%d viewTypes=%d rows=%d iterations=%d warmup=%d",
+                adapters, viewTypes, rows, iterations, warmup));
+
+        for (int i = 0; i < warmup; i++)
+            benchmark.run();
+
+        Result[] results = new Result[iterations];
+        for (int i = 0; i < iterations; i++) {
+            results[i] = benchmark.run();
+            System.out.println(String.format(Locale.US, "iteration %d: %s", i, results[i].describe(adapters)));
+        }
+        System.out.println(String.format(Locale.US, "median: %s", median(results).describe(adapters)));
+    }
+
+    private Result run() {
+        List<JavaFileObject> sources = new SyntheticSources(adapters, viewTypes, rows).create();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        InMemoryFileManager fileManager = new InMemoryFileManager(compiler.getStandardFileManager(diagnostics, Locale.US, null));
+        TimingProcessor processor = new TimingProcessor(new AdapterProcessor());
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                Arrays.asList("-source", "1.7", "-target", "1.7", "-Xlint:-options"), null, sources);
+        task.setProcessors(Collections.singleton(processor));
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        boolean success = task.call();
+        long total = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+
+        if (!success)
+            throw new IllegalStateException("Compilation failed: " + errors(diagnostics));
+        if (fileManager.generatedSourceCount() != adapters)
+            throw new IllegalStateException(String.format("Expected %d generated adapters, got %d", adapters, fileManager.generatedSourceCount()));
+
+        return new Result(processor.getNanos(), total, fileManager.generatedSourceSize(), allocated);
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                errors.add(diagnostic);
+        }
+        return errors;
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far or -1 if the JVM does not track them
+     */
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled())
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static Result median(Result[] results) {
+        Result[] sorted = results.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static int arg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    private static class Result implements Comparable<Result> {
+        final long processingNanos;
+        final long compilationNanos;
+        final long generatedBytes;
+        final long allocatedBytes;
+
+        Result(long processingNanos, long compilationNanos, long generatedBytes, long allocatedBytes) {
+            this.processingNanos = processingNanos;
+            this.compilationNanos = compilationNanos;
+            this.generatedBytes = generatedBytes;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        String describe(int adapters) {
+            return String.format(Locale.US, "processing %.2f ms (%.3f ms/adapter), compilation %.2f ms, generated %d B (%d B/adapter), allocated %s",
+                    processingNanos / 1e6, processingNanos / 1e6 / adapters, compilationNanos / 1e6,
+                    generatedBytes, generatedBytes / adapters,
+                    allocatedBytes < 0 ? "n/a" : String.format(Locale.US, "%d KB/adapter", allocatedBytes / 1024 / adapters));
+        }
+
+        @Override
+        public int compareTo(Result other) {
+            return Long.compare(processingNanos, other.processingNanos);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.mewa.adapterodactil.benchmark;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * Generates {@code @Adapt} annotated sources along with the Android stubs needed to compile them
+ */
+class SyntheticSources {
+    private static final String PACKAGE = "bench";
+
+    private static final String[][] STUBS = {
+            {"android.content.Context",
+                    "package android.content;\n"
+                            + "public class Context {}\n"},
+            {"android.view.View",
+                    "package android.view;\n"
+                            + "public class View {\n"
+                            + "    public android.content.Context getContext() { return null; }\n"
+                            + "    public int getId() { return 0; }\n"
+                            + "    public View findViewById(int id) { return null; }\n"
+                            + "    public boolean post(Runnable r) { return true; }\n"
+                            + "}\n"},
+            {"android.view.ViewGroup",
+                    "package android.view;\n"
+                            + "public class ViewGroup extends View {\n"
+                            + "    public int getChildCount() { return 0; }\n"
+                            + "    public View getChildAt(int index) { return null; }\n"
+                            + "}\n"},
+            {"android.view.LayoutInflater",
+                    "package android.view;\n"
+                            + "public class LayoutInflater {\n"
+                            + "    public static LayoutInflater from(android.content.Context c) { return null; }\n"
+                            + "    public View inflate(int res, ViewGroup root, boolean attach) { return null; }\n"
+                            + "    public android.content.Context getContext() { return null; }\n"
+                            + "    public LayoutInflater cloneInContext(android.content.Context c) { return this; }\n"
+                            + "}\n"},
+            {"android.widget.TextView",
+                    "package android.widget;\n"
+                            + "public class TextView extends android.view.View {\n"
+                            + "    public void setText(CharSequence s) {}\n"
+                            + "    public void setText(char[] s, int start, int len) {}\n"
+                            + "}\n"},
+            {"android.support.v7.widget.RecyclerView",
+                    "package android.support.v7.widget;\n"
+                            + "import android.view.View;\n"
+                            + "import android.view.ViewGroup;\n"
+                            + "import java.util.List;\n"
+                            + "public class RecyclerView extends ViewGroup {\n"
+                            + "    public static abstract class ViewHolder {\n"
+                            + "        public ViewHolder(View v) {}\n"
+                            + "    }\n"
+                            + "    public static abstract class Adapter<VH extends ViewHolder> {\n"
+                            + "        public abstract VH onCreateViewHolder(ViewGroup parent, int viewType);\n"
+                            + "        public abstract void onBindViewHolder(VH holder, int position);\n"
+                            + "        public void onBindViewHolder(VH holder, int position, List<Object> payloads) {}\n"
+                            + "        public abstract int getItemCount();\n"
+                            + "        public int getItemViewType(int position) { return 0; }\n"
+                            + "        public void onDetachedFromRecyclerView(RecyclerView recyclerView) {}\n"
+                            + "        public final void notifyDataSetChanged() {}\n"
+                            + "        public final void notifyItemChanged(int p) {}\n"
+                            + "        public final void notifyItemChanged(int p, Object payload) {}\n"
+                            + "        public final void notifyItemRangeInserted(int p, int c) {}\n"
+                            + "        public final void notifyItemRangeRemoved(int p, int c) {}\n"
+                            + "    }\n"
+                            + "}\n"},
+    };
+
+    private final int adapters;
+    private final int viewTypes;
+    private final int rows;
+
+    SyntheticSources(int adapters, int viewTypes, int rows) {
+        this.adapters = adapters;
+        this.viewTypes = viewTypes;
+        this.rows = rows;
+    }
+
+    List<JavaFileObject> create() {
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (String[] stub : STUBS)
+            sources.add(new Source(stub[0], stub[1]));
+
+        sources.add(new Source(PACKAGE + ".Item",
+                "package " + PACKAGE + ";\n"
+                        + "public class Item {\n"
+                        + "    public String text;\n"
+                        + "    public int number;\n"
+                        + "}\n"));
+
+        for (int i = 0; i < adapters; i++)
+            sources.add(new Source(PACKAGE + ".Adapter" + i, adapter(i)));
+        return sources;
+    }
+
+    private String adapter(int index) {
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n")
+                .append("import android.support.v7.widget.RecyclerView;\n")
+                .append("import android.widget.TextView;\n")
+                .append("import io.mewa.adapterodactil.annotations.*;\n")
+                .append("import java.util.List;\n")
+                .append("@Adapt(layout = 1, viewGroup = 2, type = Item.class)\n")
+                .append("public abstract class Adapter").append(index)
+                .append("<T extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<T> {\n")
+                .append("    @Data\n")
+                .append("    public abstract void setItems(List<Item> items);\n");
+
+        if (viewTypes > 1) {
+            source.append("    @Override\n")
+                    .append("    public int getItemViewType(int position) { return position % ").append(viewTypes).append("; }\n");
+        }
+
+        for (int type = 0; type < viewTypes; type++) {
+            source.append("    @ViewType(").append(type).append(")\n")
+                    .append("    public static class Type").append(type).append(" {\n");
+            for (int row = 0; row < rows; row++) {
+                int id = 100 + row;
+                // alternate between text and numeric rows, which use different plugins
+                if (row % 2 == 0) {
+                    source.append("        @Row(num = ").append(row).append(", dataId = ").append(id).append(")\n")
+                            .append("        public String row").append(row).append("(TextView view, int id, Item item) { return item.text; }\n");
+                } else {
+                    source.append("        @Row(num = ").append(row).append(", dataId = ").append(id).append(")\n")
+                            .append("        public int row").append(row).append("(TextView view, int id, Item item) { return item.number; }\n");
+                }
+            }
+            source.append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static class Source extends SimpleJavaFileObject {
+        private final String content;
+
+        Source(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
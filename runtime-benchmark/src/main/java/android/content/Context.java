@@ -0,0 +1,14 @@
+package android.content;
+
+import android.view.LayoutInflater;
+
+/**
+ * JVM stub of the Android class, just enough to run generated adapters
+ */
+public class Context {
+    private final LayoutInflater inflater = new LayoutInflater(this);
+
+    public LayoutInflater getLayoutInflater() {
+        return inflater;
+    }
+}
@@ -0,0 +1,94 @@
+package android.support.v7.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.List;
+
+/**
+ * JVM stub of the Android class, just enough to run generated adapters
+ */
+public class RecyclerView extends ViewGroup {
+    public static final long NO_ID = -1;
+
+    public RecyclerView(Context context) {
+        super(context);
+    }
+
+    public static abstract class ViewHolder {
+        public final View itemView;
+
+        public ViewHolder(View itemView) {
+            if (itemView == null)
+                throw new IllegalArgumentException("itemView may not be null");
+            this.itemView = itemView;
+        }
+    }
+
+    public static abstract class Adapter<VH extends ViewHolder> {
+        public abstract VH onCreateViewHolder(ViewGroup parent, int viewType);
+
+        public abstract void onBindViewHolder(VH holder, int position);
+
+        public void onBindViewHolder(VH holder, int position, List<Object> payloads) {
+            onBindViewHolder(holder, position);
+        }
+
+        public abstract int getItemCount();
+
+        public int getItemViewType(int position) {
+            return 0;
+        }
+
+        public long getItemId(int position) {
+            return NO_ID;
+        }
+
+        public void setHasStableIds(boolean hasStableIds) {
+        }
+
+        public void onViewRecycled(VH holder) {
+        }
+
+        public boolean onFailedToRecycleView(VH holder) {
+            return false;
+        }
+
+        public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        }
+
+        public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        }
+
+        public final void notifyDataSetChanged() {
+        }
+
+        public final void notifyItemChanged(int position) {
+        }
+
+        public final void notifyItemChanged(int position, Object payload) {
+        }
+
+        public final void notifyItemRangeChanged(int position, int count) {
+        }
+
+        public final void notifyItemRangeChanged(int position, int count, Object payload) {
+        }
+
+        public final void notifyItemInserted(int position) {
+        }
+
+        public final void notifyItemRangeInserted(int position, int count) {
+        }
+
+        public final void notifyItemRemoved(int position) {
+        }
+
+        public final void notifyItemRangeRemoved(int position, int count) {
+        }
+
+        public final void notifyItemMoved(int from, int to) {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package android.view;
+
+import android.content.Context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stub of the Android class, just enough to run generated adapters. Layouts are built by
+ * factories registered with {@link #registerLayout} instead of being parsed from XML.
+ */
+public class LayoutInflater {
+    public interface LayoutFactory {
+        View create(Context context);
+    }
+
+    private static final Map<Integer, LayoutFactory> LAYOUTS = new HashMap<>();
+
+    private final Context context;
+
+    public LayoutInflater(Context context) {
+        this.context = context;
+    }
+
+    public static void registerLayout(int resource, LayoutFactory factory) {
+        LAYOUTS.put(resource, factory);
+    }
+
+    public static LayoutInflater from(Context context) {
+        return context.getLayoutInflater();
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public LayoutInflater cloneInContext(Context context) {
+        return new LayoutInflater(context);
+    }
+
+    public View inflate(int resource, ViewGroup root, boolean attachToRoot) {
+        LayoutFactory factory = LAYOUTS.get(resource);
+        if (factory == null)
+            throw new IllegalArgumentException("Unknown layout " + resource);
+        View view = factory.create(context);
+        if (root != null && attachToRoot) {
+            root.addView(view);
+            return root;
+        }
+        return view;
+    }
+}
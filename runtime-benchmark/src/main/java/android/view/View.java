@@ -0,0 +1,38 @@
+package android.view;
+
+import android.content.Context;
+
+/**
+ * JVM stub of the Android class, just enough to run generated adapters
+ */
+public class View {
+    public static final int NO_ID = -1;
+
+    private final Context context;
+    private int id = NO_ID;
+
+    public View(Context context) {
+        this.context = context;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public View findViewById(int id) {
+        return id == this.id ? this : null;
+    }
+
+    public boolean post(Runnable action) {
+        action.run();
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package android.view;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stub of the Android class, just enough to run generated adapters
+ */
+public class ViewGroup extends View {
+    private final List<View> children = new ArrayList<>();
+
+    public ViewGroup(Context context) {
+        super(context);
+    }
+
+    public void addView(View child) {
+        children.add(child);
+    }
+
+    public int getChildCount() {
+        return children.size();
+    }
+
+    public View getChildAt(int index) {
+        return children.get(index);
+    }
+
+    @Override
+    public View findViewById(int id) {
+        if (id == getId())
+            return this;
+        // depth first like the platform implementation
+        for (int i = 0; i < children.size(); i++) {
+            View view = children.get(i).findViewById(id);
+            if (view != null)
+                return view;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * JVM stub of the Android class, just enough to run generated adapters
+ */
+public class TextView extends View {
+    private CharSequence text;
+    private char[] chars;
+    private int start;
+    private int length;
+
+    public TextView(Context context) {
+        super(context);
+    }
+
+    public void setText(CharSequence text) {
+        this.text = text;
+        this.chars = null;
+    }
+
+    /**
+     * The platform wraps the array without copying it, the stub only keeps the reference
+     */
+    public void setText(char[] text, int start, int len) {
+        this.text = null;
+        this.chars = text;
+        this.start = start;
+        this.length = len;
+    }
+
+    public CharSequence getText() {
+        return chars != null ? new String(chars, start, length) : text;
+    }
+}
@@ -0,0 +1,33 @@
+package io.mewa.adapterodactil.benchmark.runtime;
+
+import android.support.v7.widget.RecyclerView;
+import android.widget.TextView;
+
+import java.util.List;
+
+import io.mewa.adapterodactil.annotations.Adapt;
+import io.mewa.adapterodactil.annotations.Data;
+import io.mewa.adapterodactil.annotations.Row;
+import io.mewa.adapterodactil.annotations.ViewType;
+
+/**
+ * 1 view type with 4 rows each, half of them text and half numeric
+ */
+@Adapt(layout = Layouts.ROWS_4, viewGroup = Layouts.CONTAINER, type = Item.class)
+public abstract class Adapter1x4<T extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<T> {
+    @Data
+    public abstract void setItems(List<Item> items);
+
+    @ViewType(0)
+    public static class Type0 {
+        @Row(num = 0, dataId = {100, 101})
+        public String text(TextView view, int id, Item item) {
+            return item.getText();
+        }
+
+        @Row(num = 1, dataId = {102, 103})
+        public int number(TextView view, int id, Item item) {
+            return item.getNumber();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.mewa.adapterodactil.benchmark.runtime;
+
+import android.support.v7.widget.RecyclerView;
+import android.widget.TextView;
+
+import java.util.List;
+
+import io.mewa.adapterodactil.annotations.Adapt;
+import io.mewa.adapterodactil.annotations.Data;
+import io.mewa.adapterodactil.annotations.Row;
+import io.mewa.adapterodactil.annotations.ViewType;
+
+/**
+ * 4 view types with 4 rows each, half of them text and half numeric
+ */
+@Adapt(layout = Layouts.ROWS_4, viewGroup = Layouts.CONTAINER, type = Item.class)
+public abstract class Adapter4x4<T extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<T> {
+    @Data
+    public abstract void setItems(List<Item> items);
+
+    @Override
+    public int getItemViewType(int position) {
+        return position % 4;
+    }
+
+    @ViewType(0)
+    public static class Type0 {
+        @Row(num = 0, dataId = {100, 101})
+        public String text(TextView view, int id, Item item) {
+            return item.getText();
+        }
+
+        @Row(num = 1, dataId = {102, 103})
+        public int number(TextView view, int id, Item item) {
+            return item.getNumber();
+        }
+    }
+
+    @ViewType(1)
+    public static class Type1 {
+        @Row(num = 0, dataId = {100, 101})
+        public String text(TextView view, int id, Item item) {
+            return item.getText();
+        }
+
+        @Row(num = 1, dataId = {102, 103})
+        public int number(TextView view, int id, Item item) {
+            return item.getNumber();
+        }
+    }
+
+    @ViewType(2)
+    public static class Type2 {
+        @Row(num = 0, dataId = {100, 101})
+        public String text(TextView view, int id, Item item) {
+            return item.getText();
+        }
+
+        @Row(num = 1, dataId = {102, 103})
+        public int number(TextView view, int id, Item item) {
+            return item.getNumber();
+        }
+    }
+
+    @ViewType(3)
+    public static class Type3 {
+        @Row(num = 0, dataId = {100, 101})
+        public String text(TextView view, int id, Item item) {
+            return item.getText();
+        }
+
+        @Row(num = 1, dataId = {102, 103})
+        public int number(TextView view, int id, Item item) {
+            return item.getNumber();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.mewa.adapterodactil.benchmark.runtime;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of ViewHolders created and bound by generated adapters. Run with the GC profiler
+ * ({@code -prof gc}) to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@SuppressWarnings("unchecked")
+public class AdapterBenchmark {
+    private static final int ITEMS = 1024;
+
+    @Param({"1", "4"})
+    int viewTypes;
+
+    @Param({"4", "16"})
+    int rows;
+
+    private RecyclerView parent;
+    private RecyclerView.Adapter adapter;
+    /**
+     * Bound ViewHolders, indexed by view type
+     */
+    private RecyclerView.ViewHolder[] holders;
+    private int position;
+
+    @Setup
+    public void setup() {
+        Layouts.register();
+        parent = new RecyclerView(new Context());
+
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++)
+            items.add(new Item("Item " + i, i * 31));
+        adapter = createAdapter(items);
+
+        holders = new RecyclerView.ViewHolder[viewTypes];
+        for (int viewType = 0; viewType < viewTypes; viewType++)
+            holders[viewType] = adapter.onCreateViewHolder(parent, viewType);
+    }
+
+    private RecyclerView.Adapter createAdapter(List<Item> items) {
+        switch (viewTypes + "x" + rows) {
+            case "1x4": {
+                Adapter1x4Impl adapter = new Adapter1x4Impl();
+                adapter.setItems(items);
+                return adapter;
+            }
+            case "1x16": {
+                Adapter1x16Impl adapter = new Adapter1x16Impl();
+                adapter.setItems(items);
+                return adapter;
+            }
+            case "4x4": {
+                Adapter4x4Impl adapter = new Adapter4x4Impl();
+                adapter.setItems(items);
+                return adapter;
+            }
+            case "4x16": {
+                Adapter4x16Impl adapter = new Adapter4x16Impl();
+                adapter.setItems(items);
+                return adapter;
+            }
+            default:
+                throw new IllegalArgumentException(String.format("No adapter with %d view types and %d rows", viewTypes, rows));
+        }
+    }
+
+    private int nextPosition() {
+        position = (position + 1) % ITEMS;
+        return position;
+    }
+
+    @Benchmark
+    public RecyclerView.ViewHolder create() {
+        return adapter.onCreateViewHolder(parent, adapter.getItemViewType(nextPosition()));
+    }
+
+    @Benchmark
+    public RecyclerView.ViewHolder bind() {
+        int position = nextPosition();
+        RecyclerView.ViewHolder holder = holders[adapter.getItemViewType(position)];
+        adapter.onBindViewHolder(holder, position);
+        return holder;
+    }
+}
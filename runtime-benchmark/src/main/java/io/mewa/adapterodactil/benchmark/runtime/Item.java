@@ -0,0 +1,19 @@
+package io.mewa.adapterodactil.benchmark.runtime;
+
+public class Item {
+    private final String text;
+    private final int number;
+
+    public Item(String text, int number) {
+        this.text = text;
+        this.number = number;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+}
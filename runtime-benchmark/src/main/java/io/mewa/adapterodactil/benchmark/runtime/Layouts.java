@@ -0,0 +1,46 @@
+package io.mewa.adapterodactil.benchmark.runtime;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+/**
+ * Layouts used by the benchmarked adapters, each being a container holding one TextView per row
+ */
+final class Layouts {
+    static final int CONTAINER = 1;
+    static final int ROWS_4 = 4;
+    static final int ROWS_16 = 16;
+    /**
+     * Id of the first row's TextView, following rows use consecutive ids
+     */
+    static final int FIRST_ROW = 100;
+
+    private Layouts() {
+    }
+
+    static void register() {
+        register(ROWS_4);
+        register(ROWS_16);
+    }
+
+    private static void register(final int rows) {
+        LayoutInflater.registerLayout(rows, new LayoutInflater.LayoutFactory() {
+            @Override
+            public View create(Context context) {
+                ViewGroup root = new ViewGroup(context);
+                ViewGroup container = new ViewGroup(context);
+                container.setId(CONTAINER);
+                root.addView(container);
+                for (int i = 0; i < rows; i++) {
+                    TextView row = new TextView(context);
+                    row.setId(FIRST_ROW + i);
+                    container.addView(row);
+                }
+                return root;
+            }
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package io.mewa.adapterodactil;
 
 import com.google.auto.service.AutoService;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -10,15 +12,30 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
@@ -35,20 +52,34 @@ import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
 
 import io.mewa.adapterodactil.annotations.Adapt;
+import io.mewa.adapterodactil.annotations.Column;
 import io.mewa.adapterodactil.annotations.Data;
 import io.mewa.adapterodactil.annotations.Item;
+import io.mewa.adapterodactil.annotations.ItemId;
 import io.mewa.adapterodactil.annotations.Label;
+import io.mewa.adapterodactil.annotations.Matches;
+import io.mewa.adapterodactil.annotations.NestedList;
 import io.mewa.adapterodactil.annotations.OverridePlugin;
+import io.mewa.adapterodactil.annotations.Paged;
+import io.mewa.adapterodactil.annotations.Recycle;
 import io.mewa.adapterodactil.annotations.Row;
+import io.mewa.adapterodactil.annotations.SameContent;
+import io.mewa.adapterodactil.annotations.SameItem;
+import io.mewa.adapterodactil.annotations.Sourced;
 import io.mewa.adapterodactil.annotations.ViewType;
 import io.mewa.adapterodactil.plugins.IgnorePlugin;
+import io.mewa.adapterodactil.plugins.ImageViewPlugin;
+import io.mewa.adapterodactil.plugins.NestedListPlugin;
+import io.mewa.adapterodactil.plugins.NumberTextViewPlugin;
 import io.mewa.adapterodactil.plugins.Plugin;
+import io.mewa.adapterodactil.plugins.StatefulPlugin;
 import io.mewa.adapterodactil.plugins.TextViewPlugin;
 
 @AutoService(Processor.class)
@@ -61,15 +92,118 @@ public class AdapterProcessor extends AbstractProcessor {
     private static final ClassName ADAPTER = ClassName.get("android.support.v7.widget.RecyclerView", "Adapter");
     private static final ClassName VIEW_HOLDER = ClassName.get("android.support.v7.widget.RecyclerView", "ViewHolder");
     private static final ClassName LAYOUT_INFLATER = ClassName.get("android.view", "LayoutInflater");
+    private static final ClassName HANDLER = ClassName.get("android.os", "Handler");
+    private static final ClassName LOOPER = ClassName.get("android.os", "Looper");
+    private static final ClassName DIFF_UTIL = ClassName.get("android.support.v7.util", "DiffUtil");
+    private static final ClassName LINEAR_LAYOUT_MANAGER = ClassName.get("android.support.v7.widget", "LinearLayoutManager");
+    private static final ClassName RECYCLED_VIEW_POOL = RECYCLER_VIEW.nestedClass("RecycledViewPool");
+    private static final ClassName PARCELABLE = ClassName.get("android.os", "Parcelable");
+    private static final ClassName CHOREOGRAPHER = ClassName.get("android.view", "Choreographer");
+    private static final ClassName FRAME_CALLBACK = CHOREOGRAPHER.nestedClass("FrameCallback");
+    private static final ClassName ON_SCROLL_LISTENER = RECYCLER_VIEW.nestedClass("OnScrollListener");
+    private static final ClassName COMPONENT_CALLBACKS = ClassName.get("android.content", "ComponentCallbacks2");
 
     private static final String METHOD_ONCREATE_VIEWHOLDER = "onCreateViewHolder";
+    private static final String METHOD_CREATE_VIEWHOLDER = "createViewHolder";
+    private static final String METHOD_TAKE_PREWARMED = "takePrewarmed";
+
+    private static final String FIELD_INFLATER = "inflater";
+    private static final String FIELD_PREWARMED = "prewarmed";
+    private static final String PREWARM_EXECUTOR = "PREWARM_EXECUTOR";
+
+    private static final String METHOD_STABLE_ID = "stableId";
+    private static final String METHOD_BIND_ROWS = "bindRows";
+
+    private static final String PAYLOAD_ALL_ROWS = "PAYLOAD_ALL_ROWS";
+
+    private static final String VH_ITEM = "item";
+    private static final String VH_PLACEHOLDER = "AdapterodactilPlaceholderViewHolder";
+
+    private static final String ITEM_SOURCE = "ItemSource";
+    private static final String MAPPED_ITEM_SOURCE = "MappedItemSource";
+    private static final String FIELD_ITEM_SOURCE = "itemSource";
+
+    private static final String PAGE_SOURCE = "PageSource";
+    private static final String PAGE_EXECUTOR = "PAGE_EXECUTOR";
+    private static final String PAGE_SIZE = "PAGE_SIZE";
+    private static final String PREFETCH_DISTANCE = "PREFETCH_DISTANCE";
+    private static final String MAX_PAGES = "MAX_PAGES";
+    private static final String VIEW_TYPE_PLACEHOLDER = "VIEW_TYPE_PLACEHOLDER";
+    private static final String METHOD_PREFETCH = "prefetch";
+
+    private static final String FIELD_VIEW_TYPES = "itemViewTypes";
+    private static final String METHOD_RESOLVE_VIEW_TYPE = "resolveViewType";
+    private static final String METHOD_UPDATE_VIEW_TYPES = "updateViewTypes";
+    private static final String METHOD_FIND_VIEWS = "findViews";
+
+    private static final String NESTED_ADAPTER = "Adapter";
+    private static final String NESTED_LAYOUT = "Layout";
+    private static final String NESTED_ITEMS = "Items";
+    private static final String NESTED_KEY = "Key";
+    private static final String METHOD_SAVE_NESTED_STATE = "saveNestedState";
+    private static final String NESTED_STATES = "NestedStates";
+    private static final String MAX_NESTED_STATES = "MAX_NESTED_STATES";
+    /**
+     * Number of nested list scroll states kept per row, dropping those of the least recently displayed items
+     */
+    private static final int NESTED_STATES_CAPACITY = 100;
+
+    private static final String METRICS_INTERFACE = "AdapterMetrics";
+    private static final String METRICS_SNAPSHOT = "MetricsSnapshot";
+    private static final String FIELD_CREATE_COUNTS = "createCounts";
+    private static final String FIELD_CREATE_NANOS = "createNanos";
+    private static final String FIELD_CREATE_MAX_NANOS = "createMaxNanos";
+    private static final String FIELD_BIND_COUNTS = "bindCounts";
+    private static final String FIELD_BIND_NANOS = "bindNanos";
+    private static final String FIELD_BIND_MAX_NANOS = "bindMaxNanos";
+    private static final String FIELD_ROW_COUNTS = "rowCounts";
+    private static final String FIELD_ROW_NANOS = "rowNanos";
+    private static final String FIELD_ROW_MAX_NANOS = "rowMaxNanos";
+    private static final String METHOD_RECORD_METRIC = "recordMetric";
+    private static final String METHOD_METRICS_INDEX = "metricsIndex";
+
+    private static final String PRECOMPUTE_EXECUTOR = "PRECOMPUTE_EXECUTOR";
+    private static final String PRECOMPUTE_STRIDE = "PRECOMPUTE_STRIDE";
+    private static final String PRECOMPUTE_BATCH = "PRECOMPUTE_BATCH";
+    private static final String FIELD_PRECOMPUTED = "precomputed";
+    private static final String FIELD_PRECOMPUTE_GENERATION = "precomputeGeneration";
+    private static final String METHOD_PRECOMPUTE = "precompute";
+    private static final String METHOD_PRECOMPUTED = "getPrecomputed";
+    private static final String METHOD_RESET_PRECOMPUTED = "resetPrecomputed";
+    private static final String METHOD_UPDATE_PRECOMPUTED = "updatePrecomputed";
+
+    private static final String COLUMNS_FIELD = "columns";
+    private static final String COLUMNS_POSITION = "position";
+    private static final String COLUMNS_STRINGS = "strings";
+    private static final String METHOD_INTERN = "intern";
+
+    private static final String DEFERRED_FRAME_BUDGET = "DEFERRED_FRAME_BUDGET_NANOS";
+    private static final String FIELD_DEFERRED_HOLDERS = "deferredHolders";
+    private static final String FIELD_BINDING_DEFERRED = "bindingDeferred";
+    private static final String FIELD_SCROLL_STATE = "scrollState";
+    private static final String VH_DEFERRED_ROWS = "deferredRows";
+    private static final String METHOD_DEFER_ROWS = "deferRows";
+    private static final String METHOD_BIND_DEFERRED = "bindDeferred";
+    private static final String METHOD_SCHEDULE_DEFERRED = "scheduleDeferred";
+    private static final String FIELD_DEFERRED_SCROLL_LISTENER = "deferredScrollListener";
+
+    private static final String DIFF_EXECUTOR = "DIFF_EXECUTOR";
+    private static final String DIFF_CALLBACK = "AdapterodactilDiffCallback";
 
     private Messager messager;
     private Filer filer;
     private Elements elementUtils;
     private Types typeUtils;
     private ParsingInfo parsingInfo;
+    /**
+     * Plugins indexed by the widget they handle
+     */
     private Map<String, Plugin> plugins;
+    /**
+     * Plugins resolved for widgets through their superclasses, null if there is none
+     */
+    private Map<String, Plugin> resolvedPlugins;
+    private NumberTextViewPlugin numberTextViewPlugin;
 
 
     @Override
@@ -79,6 +213,7 @@ public class AdapterProcessor extends AbstractProcessor {
         filer = processingEnv.getFiler();
         elementUtils = processingEnv.getElementUtils();
         typeUtils = processingEnv.getTypeUtils();
+        loadPlugins();
     }
 
     private boolean hasImpl(Element e, String method) {
@@ -91,7 +226,6 @@ public class AdapterProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        plugins = new HashMap<>();
         for (Element e : roundEnv.getElementsAnnotatedWith(Adapt.class)) {
             if (e.getKind() != ElementKind.CLASS) {
                 messager.printMessage(Diagnostic.Kind.ERROR, "@Adapt must be used on a type");
@@ -104,6 +238,8 @@ public class AdapterProcessor extends AbstractProcessor {
     private void processAdapt(Element elem) {
         parsingInfo = new ParsingInfo(elem);
         parsingInfo.adapt = elem.getAnnotation(Adapt.class);
+        parsingInfo.paged = elem.getAnnotation(Paged.class);
+        parsingInfo.sourced = elem.getAnnotation(Sourced.class);
         parsingInfo.element = (TypeElement) elem;
 
         parsingInfo.abstractCreateViewHolder = !hasImpl(elem, METHOD_ONCREATE_VIEWHOLDER);
@@ -117,11 +253,31 @@ public class AdapterProcessor extends AbstractProcessor {
             }
             if (member.getAnnotation(Item.class) != null)
                 parseItem((ExecutableElement) member);
+            if (member.getAnnotation(SameItem.class) != null)
+                parsingInfo.sameItem = parseComparator((ExecutableElement) member, SameItem.class);
+            if (member.getAnnotation(SameContent.class) != null)
+                parsingInfo.sameContent = parseComparator((ExecutableElement) member, SameContent.class);
         }
 
+        if (parsingInfo.paged != null && parsingInfo.dataInfo != null) {
+            throw new IllegalArgumentException("@Data cannot be used together with @Paged");
+        }
+        if (parsingInfo.sourced != null && (parsingInfo.dataInfo != null || parsingInfo.paged != null)) {
+            throw new IllegalArgumentException("@Sourced cannot be used together with @Data or @Paged");
+        }
+        if (parsingInfo.paged != null)
+            checkPaged(parsingInfo.paged);
         if (parsingInfo.dataInfo == null) {
             parsingInfo.dataInfo = new DataInfo(null, null);
         }
+        parseItemId();
+        // user supplied implementation takes precedence
+        if (hasImpl(elem, "getItemViewType"))
+            parsingInfo.resolveViewTypes = false;
+        assignPrecomputeSlots();
+        parseColumns();
+        checkSourced();
+
         TypeSpec adapter = createAdapter((TypeElement) elem);
 
         emit(parsingInfo.pkg, adapter);
@@ -131,14 +287,41 @@ public class AdapterProcessor extends AbstractProcessor {
         ViewType viewType = elem.getAnnotation(ViewType.class);
 
         messager.printMessage(Diagnostic.Kind.OTHER, "Parsing viewType: " + viewType.value());
+        String matcher = null;
+        List<ExecutableElement> recycles = new ArrayList<>();
         for (Element member : elem.getEnclosedElements()) {
             if (member.getAnnotation(Row.class) != null)
                 parseRow(elem, (ExecutableElement) member, viewType.value());
+            if (member.getAnnotation(Matches.class) != null)
+                matcher = parseMatcher((ExecutableElement) member);
+            if (member.getAnnotation(Recycle.class) != null)
+                recycles.add((ExecutableElement) member);
+        }
+        for (ExecutableElement recycle : recycles) {
+            parseRecycle(recycle, viewType.value());
+        }
+
+        TypeMirror itemClass = null;
+        try {
+            viewType.type();
+        } catch (MirroredTypeException e) {
+            itemClass = e.getTypeMirror();
+        }
+        if (itemClass != null && itemClass.toString().equals(Object.class.getCanonicalName()))
+            itemClass = null;
+
+        ViewTypeInfo viewTypeInfo = parsingInfo.adapterInfo.get(viewType.value());
+        if (viewTypeInfo != null && (itemClass != null || matcher != null)) {
+            viewTypeInfo.itemClass = itemClass;
+            viewTypeInfo.matcher = matcher;
+            parsingInfo.resolveViewTypes = true;
         }
     }
 
     private TypeSpec createAdapter(TypeElement elem) {
+        // generated adapter depends only on its @Adapt type, which allows isolating incremental processing
         TypeSpec.Builder adapter = TypeSpec.classBuilder(parsingInfo.adapterName)
+                .addOriginatingElement(elem)
                 .addModifiers(Modifier.PUBLIC);
 
         createViewHolders(adapter, parsingInfo.vhClassName.simpleName());
@@ -153,14 +336,41 @@ public class AdapterProcessor extends AbstractProcessor {
                 ClassName.get(superclass),
                 parsingInfo.vhClassName));
 
-        implementDataLogic(adapter);
+        if (parsingInfo.paged != null) {
+            implementPaging(adapter);
+        } else if (parsingInfo.sourced != null) {
+            implementItemSource(adapter);
+        } else {
+            implementDataLogic(adapter);
+        }
+        if (parsingInfo.precomputeStride > 0)
+            implementPrecompute(adapter);
+        implementStableIds(adapter);
 
         MethodSpec.Builder onCreateViewHolder = onCreateViewHolderImpl(adapter);
         MethodSpec.Builder onBindViewHolder = onBindViewHolderImpl(adapter);
 
 
-        // if there are more than 1 view types user has to supply the relevant function
-        if (!hasImpl(parsingInfo.element, "getItemViewType") && parsingInfo.adapterInfo.size() <= 1) {
+        if (parsingInfo.resolveViewTypes) {
+            implementViewTypeResolution(adapter);
+        } else if (parsingInfo.paged != null) {
+            // placeholders are shown for items which have not been loaded yet
+            MethodSpec.Builder getItemViewType = MethodSpec.methodBuilder("getItemViewType")
+                    .addParameter(TypeName.INT, "position")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(TypeName.INT)
+                    .beginControlFlow("if (getItem(position) == null)")
+                    .addStatement("return $L", VIEW_TYPE_PLACEHOLDER)
+                    .endControlFlow();
+            if (!hasImpl(parsingInfo.element, "getItemViewType") && parsingInfo.adapterInfo.size() <= 1) {
+                getItemViewType.addStatement("return $L", parsingInfo.adapterInfo.values().iterator().next().viewType);
+            } else {
+                getItemViewType.addStatement("return super.getItemViewType(position)");
+            }
+            adapter.addMethod(getItemViewType.build());
+        } else if (!hasImpl(parsingInfo.element, "getItemViewType") && parsingInfo.adapterInfo.size() <= 1) {
+            // if there are more than 1 view types user has to supply the relevant function
             MethodSpec.Builder getItemViewType = MethodSpec.methodBuilder("getItemViewType")
                     .addParameter(TypeName.INT, "position")
                     .addAnnotation(Override.class)
@@ -174,6 +384,9 @@ public class AdapterProcessor extends AbstractProcessor {
                 .addMethod(onCreateViewHolder.build())
                 .addMethod(onBindViewHolder.build());
 
+        implementDetach(adapter);
+        implementTrimMemory(adapter);
+
         for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
             TypeMirror erasure = typeUtils.erasure(viewTypeInfo.viewTypeAdapter.asType());
             FieldSpec.Builder viewTypeAdapter = FieldSpec.builder(
@@ -187,14 +400,7 @@ public class AdapterProcessor extends AbstractProcessor {
     private void implementDataLogic(TypeSpec.Builder adapter) {
         DataInfo dataInfo = parsingInfo.dataInfo;
 
-        // lazy way to extract Class at compile-time
-        // clazz is never null
-        TypeMirror clazz = null;
-        try {
-            parsingInfo.adapt.type();
-        } catch (MirroredTypeException e) {
-            clazz = e.getTypeMirror();
-        }
+        TypeMirror clazz = getItemType();
 
         final String varElements = "elements";
 
@@ -214,11 +420,18 @@ public class AdapterProcessor extends AbstractProcessor {
                     .addParameter(typeName, argElements);
         }
 
+        if (parsingInfo.columns != null) {
+            implementColumnarData(adapter, dataSetter, typeName, clazz, argElements);
+            return;
+        }
+
         FieldSpec.Builder storedData = FieldSpec.builder(typeName, dataInfo.field, Modifier.PRIVATE)
                 .initializer("new $T<>()", ArrayList.class);
 
         adapter.addField(storedData.build());
 
+        boolean diff = dataInfo.data != null && dataInfo.data.diff();
+
         dataSetter
                 .addCode(
                         CodeBlock.builder()
@@ -227,14 +440,39 @@ public class AdapterProcessor extends AbstractProcessor {
                                 .addStatement("$L = new $T<>($L)", varElements, ArrayList.class, argElements)
                                 .endControlFlow()
                                 .beginControlFlow("else")
-                                .addStatement("$L = $T.emptyList()", varElements, Collections.class)
+                                .addStatement("$L = new $T<>()", varElements, ArrayList.class)
                                 .endControlFlow()
-                                .addStatement("this.$L = $L", dataInfo.field, varElements)
                                 .build()
                 );
 
-        String getterName = Character.toUpperCase(dataInfo.field.charAt(0)) + dataInfo.field.substring(1);
-        MethodSpec.Builder dataGetter = MethodSpec.methodBuilder("get" + getterName)
+        MethodSpec.Builder noCopySetter = MethodSpec.methodBuilder(dataSetter.build().name + "NoCopy")
+                .addJavadoc("Same as {@link #$L}, but takes ownership of {@code $L} instead of copying it.\n", dataSetter.build().name, argElements)
+                .addJavadoc("The list must be mutable and must not be modified by the caller afterwards.\n")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(typeName, argElements)
+                .addStatement("$T $L = $L != null ? $L : new $T<$T>()", typeName, varElements, argElements, argElements, ArrayList.class, clazz);
+
+        if (dataInfo.data != null && dataInfo.data.coalesce()) {
+            implementCoalescing(adapter, typeName, clazz, argElements, diff);
+            // synchronous updates supersede pending ones
+            dataSetter.addStatement("$L()", dataInfo.dropPendingMethod());
+            noCopySetter.addStatement("$L()", dataInfo.dropPendingMethod());
+        }
+
+        if (diff) {
+            implementDiffing(adapter, typeName, clazz);
+            dataSetter.addStatement("$L($L)", dataInfo.diffMethod(), varElements);
+            noCopySetter.addStatement("$L($L)", dataInfo.diffMethod(), varElements);
+        } else {
+            dataSetter.addStatement("this.$L = $L", dataInfo.field, varElements);
+            noCopySetter.addStatement("this.$L = $L", dataInfo.field, varElements);
+            dataSetter.addCode(dataReplaced());
+            noCopySetter.addCode(dataReplaced());
+            dataSetter.addCode(clearNestedStates());
+            noCopySetter.addCode(clearNestedStates());
+        }
+
+        MethodSpec.Builder dataGetter = MethodSpec.methodBuilder("get" + dataInfo.capitalized())
                 .addModifiers(Modifier.PROTECTED)
                 .returns(typeName)
                 .addStatement("return this.$L", dataInfo.field);
@@ -246,13 +484,1241 @@ public class AdapterProcessor extends AbstractProcessor {
                 .addStatement("return this.$L.size()", dataInfo.field);
 
         adapter.addMethod(dataSetter.build());
+        adapter.addMethod(noCopySetter.build());
         adapter.addMethod(dataGetter.build());
         adapter.addMethod(itemCount.build());
+
+        implementMutations(adapter, typeName, clazz, diff);
+    }
+
+    private void checkPaged(Paged paged) {
+        if (paged.pageSize() <= 0)
+            throw new IllegalArgumentException(String.format("@Paged pageSize must be positive, was %d", paged.pageSize()));
+        if (paged.prefetchDistance() < 0)
+            throw new IllegalArgumentException(String.format("@Paged prefetchDistance must not be negative, was %d", paged.prefetchDistance()));
+        // pages a window of prefetchDistance items on both sides of a position can span
+        long window = 2L * paged.prefetchDistance() + 1;
+        long windowPages = (window + paged.pageSize() - 2) / paged.pageSize() + 1;
+        if (paged.maxPages() < windowPages)
+            throw new IllegalArgumentException(String.format("@Paged maxPages must be at least %d to hold the pages within prefetchDistance, was %d",
+                    windowPages, paged.maxPages()));
+    }
+
+    /**
+     * Backs the adapter with a generated {@code PageSource} interface. Pages are loaded on a background
+     * executor when binding gets within {@link Paged#prefetchDistance()} of them, and kept in a fixed
+     * number of slots evicting the least recently used page outside of the prefetch window.
+     * Loads started before the source was last set are discarded.
+     */
+    private void implementPaging(TypeSpec.Builder adapter) {
+        final Paged paged = parsingInfo.paged;
+        final TypeMirror clazz = getItemType();
+        final TypeName typeName = ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(clazz));
+        final ClassName pageSource = ClassName.get(parsingInfo.pkg.getQualifiedName().toString(), parsingInfo.adapterName)
+                .nestedClass(PAGE_SOURCE);
+        final String handler = mainHandler(adapter);
+
+        final String argOffset = "offset";
+        final String argSize = "size";
+        final String argPage = "page";
+        final String argPosition = "position";
+        final String argSource = "source";
+
+        final String fieldSource = "pageSource";
+        final String fieldCount = "itemCount";
+        final String fieldIndices = "pageIndices";
+        final String fieldData = "pageData";
+        final String fieldUses = "pageUses";
+        final String fieldClock = "pageClock";
+        final String fieldLoading = "loadingPages";
+        final String fieldGeneration = "pageGeneration";
+        final String fieldWindowFirst = "windowFirstPage";
+        final String fieldWindowLast = "windowLastPage";
+        final String varGeneration = "generation";
+
+        adapter.addType(TypeSpec.interfaceBuilder(PAGE_SOURCE)
+                .addModifiers(Modifier.PUBLIC)
+                .addMethod(MethodSpec.methodBuilder("getCount")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(TypeName.INT)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("loadPage")
+                        .addJavadoc("Called on a background thread, returns {@code null} if the page could not be loaded\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .addParameter(TypeName.INT, argOffset)
+                        .addParameter(TypeName.INT, argSize)
+                        .returns(typeName)
+                        .build())
+                .build());
+
+        adapter.addField(FieldSpec.builder(TypeName.INT, VIEW_TYPE_PLACEHOLDER, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.MIN_VALUE", Integer.class)
+                .build());
+        adapter.addField(FieldSpec.builder(Executor.class, PAGE_EXECUTOR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.newSingleThreadExecutor()", Executors.class)
+                .build());
+        adapter.addField(FieldSpec.builder(TypeName.INT, PAGE_SIZE, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", paged.pageSize())
+                .build());
+        adapter.addField(FieldSpec.builder(TypeName.INT, PREFETCH_DISTANCE, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", paged.prefetchDistance())
+                .build());
+        adapter.addField(FieldSpec.builder(TypeName.INT, MAX_PAGES, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", paged.maxPages())
+                .build());
+        adapter.addField(pageSource, fieldSource, Modifier.PRIVATE);
+        adapter.addField(TypeName.INT, fieldCount, Modifier.PRIVATE);
+        adapter.addField(FieldSpec.builder(int[].class, fieldIndices, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new int[$L]", MAX_PAGES)
+                .build());
+        adapter.addField(FieldSpec.builder(Object[].class, fieldData, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new Object[$L]", MAX_PAGES)
+                .build());
+        adapter.addField(FieldSpec.builder(long[].class, fieldUses, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new long[$L]", MAX_PAGES)
+                .build());
+        adapter.addField(TypeName.LONG, fieldClock, Modifier.PRIVATE);
+        adapter.addField(TypeName.INT, fieldGeneration, Modifier.PRIVATE);
+        adapter.addField(TypeName.INT, fieldWindowFirst, Modifier.PRIVATE);
+        adapter.addField(FieldSpec.builder(TypeName.INT, fieldWindowLast, Modifier.PRIVATE)
+                .initializer("-1")
+                .build());
+        adapter.addField(FieldSpec.builder(ParameterizedTypeName.get(Set.class, Integer.class), fieldLoading, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T<>()", HashSet.class)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("setPageSource")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(pageSource, argSource)
+                .addStatement("this.$L = $L", fieldSource, argSource)
+                .addStatement("this.$L = $L != null ? $L.getCount() : 0", fieldCount, argSource, argSource)
+                .addStatement("$T.fill($L, -1)", Arrays.class, fieldIndices)
+                .addStatement("$T.fill($L, null)", Arrays.class, fieldData)
+                .addStatement("$T.fill($L, 0)", Arrays.class, fieldUses)
+                .addStatement("$L.clear()", fieldLoading)
+                .addCode(clearNestedStates())
+                .addStatement("$L++", fieldGeneration)
+                .addStatement("$L = 0", fieldWindowFirst)
+                .addStatement("$L = -1", fieldWindowLast)
+                .addCode(parsingInfo.resolveViewTypes
+                        ? CodeBlock.builder()
+                        .addStatement("$L = new int[$L]", FIELD_VIEW_TYPES, fieldCount)
+                        .addStatement("$T.fill($L, $L)", Arrays.class, FIELD_VIEW_TYPES, VIEW_TYPE_PLACEHOLDER)
+                        .build()
+                        : CodeBlock.of(""))
+                .addStatement("notifyDataSetChanged()")
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("getPageSource")
+                .addModifiers(Modifier.PROTECTED)
+                .returns(pageSource)
+                .addStatement("return this.$L", fieldSource)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("getItemCount")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(TypeName.INT)
+                .addStatement("return this.$L", fieldCount)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("getItem")
+                .addJavadoc("@return item at {@code $L} or {@code null} if its page has not been loaded yet\n", argPosition)
+                .addModifiers(Modifier.PROTECTED)
+                .addParameter(TypeName.INT, argPosition)
+                .returns(TypeName.get(clazz))
+                .addStatement("$T $L = findPage($L / $L)", typeName, argPage, argPosition, PAGE_SIZE)
+                .beginControlFlow("if ($L == null)", argPage)
+                .addStatement("loadPage($L / $L)", argPosition, PAGE_SIZE)
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("int index = $L % $L", argPosition, PAGE_SIZE)
+                .addStatement("return index < $L.size() ? $L.get(index) : null", argPage, argPage)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("findPage")
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPage)
+                .returns(typeName)
+                .beginControlFlow("for (int i = 0; i < $L; i++)", MAX_PAGES)
+                .beginControlFlow("if ($L[i] == $L && $L[i] != null)", fieldIndices, argPage, fieldData)
+                .addStatement("$L[i] = ++$L", fieldUses, fieldClock)
+                .addStatement("return ($T) $L[i]", typeName, fieldData)
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return null")
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("storePage")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPage)
+                .addParameter(typeName, "data")
+                .addStatement("int slot = -1")
+                .beginControlFlow("for (int i = 0; i < $L; i++)", MAX_PAGES)
+                .addStatement("boolean inWindow = $L[i] != null && $L[i] >= $L && $L[i] <= $L",
+                        fieldData, fieldIndices, fieldWindowFirst, fieldIndices, fieldWindowLast)
+                .beginControlFlow("if (!inWindow && (slot == -1 || $L[i] < $L[slot]))", fieldUses, fieldUses)
+                .addStatement("slot = i")
+                .endControlFlow()
+                .endControlFlow()
+                .addComment("every slot holds a page within the prefetch window")
+                .beginControlFlow("if (slot == -1)")
+                .addStatement("slot = 0")
+                .beginControlFlow("for (int i = 1; i < $L; i++)", MAX_PAGES)
+                .beginControlFlow("if ($L[i] < $L[slot])", fieldUses, fieldUses)
+                .addStatement("slot = i")
+                .endControlFlow()
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("int evicted = -1")
+                .beginControlFlow("if ($L[slot] != null)", fieldData)
+                .addStatement("evicted = $L[slot] * $L", fieldIndices, PAGE_SIZE)
+                .addCode(parsingInfo.resolveViewTypes
+                        ? CodeBlock.builder()
+                        .addStatement("$T.fill($L, evicted, $T.min($L, evicted + $L), $L)",
+                                Arrays.class, FIELD_VIEW_TYPES, Math.class, fieldCount, PAGE_SIZE, VIEW_TYPE_PLACEHOLDER)
+                        .build()
+                        : CodeBlock.of(""))
+                .endControlFlow()
+                .addCode(parsingInfo.resolveViewTypes
+                        ? CodeBlock.builder()
+                        .addStatement("int offset = $L * $L", argPage, PAGE_SIZE)
+                        .beginControlFlow("for (int i = 0, n = $T.min(data.size(), $L - offset); i < n; i++)", Math.class, fieldCount)
+                        .addStatement("$L[offset + i] = $L(data.get(i))", FIELD_VIEW_TYPES, METHOD_RESOLVE_VIEW_TYPE)
+                        .endControlFlow()
+                        .build()
+                        : CodeBlock.of(""))
+                .addStatement("$L[slot] = $L", fieldIndices, argPage)
+                .addStatement("$L[slot] = data", fieldData)
+                .addStatement("$L[slot] = ++$L", fieldUses, fieldClock)
+                .addComment("rows bound to the evicted page go back to placeholders")
+                .beginControlFlow("if (evicted != -1)")
+                .addStatement("notifyItemRangeChanged(evicted, $T.min($L, evicted + $L) - evicted)", Math.class, fieldCount, PAGE_SIZE)
+                .endControlFlow()
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_PREFETCH)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPosition)
+                .addStatement("int first = $T.max(0, $L - $L) / $L", Math.class, argPosition, PREFETCH_DISTANCE, PAGE_SIZE)
+                .addStatement("int last = $T.min($L - 1, $L + $L) / $L", Math.class, fieldCount, argPosition, PREFETCH_DISTANCE, PAGE_SIZE)
+                .addStatement("$L = first", fieldWindowFirst)
+                .addStatement("$L = last", fieldWindowLast)
+                .beginControlFlow("for (int $L = first; $L <= last; $L++)", argPage, argPage, argPage)
+                .beginControlFlow("if (findPage($L) == null)", argPage)
+                .addStatement("loadPage($L)", argPage)
+                .endControlFlow()
+                .endControlFlow()
+                .build());
+
+        TypeSpec store = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .beginControlFlow("if ($L != $L)", varGeneration, fieldGeneration)
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("$L.remove($L)", fieldLoading, argPage)
+                        .beginControlFlow("if (loaded == null)")
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("storePage($L, loaded)", argPage)
+                        .addStatement("notifyItemRangeChanged($L, $T.min($L, loaded.size()))", argOffset, Math.class, argSize)
+                        .build())
+                .build();
+
+        TypeSpec load = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("final $T loaded = $L.loadPage($L, $L)", typeName, argSource, argOffset, argSize)
+                        .addStatement("$L.post($L)", handler, store)
+                        .build())
+                .build();
+
+        adapter.addMethod(MethodSpec.methodBuilder("loadPage")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPage, Modifier.FINAL)
+                .beginControlFlow("if ($L == null || !$L.add($L))", fieldSource, fieldLoading, argPage)
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("final $T $L = this.$L", pageSource, argSource, fieldSource)
+                .addStatement("final int $L = this.$L", varGeneration, fieldGeneration)
+                .addStatement("final int $L = $L * $L", argOffset, argPage, PAGE_SIZE)
+                .addStatement("final int $L = $T.min($L, $L - $L)", argSize, Math.class, PAGE_SIZE, fieldCount, argOffset)
+                .addStatement("$L.execute($L)", PAGE_EXECUTOR, load)
+                .build());
+    }
+
+    /**
+     * Backs the adapter with a generated {@code ItemSource} interface reading items by position, along with
+     * a {@code MappedItemSource} implementation decoding fixed-size records of a memory-mapped file.
+     * Every ViewHolder keeps the last item bound to it, which the source may decode the next item into.
+     */
+    private void implementItemSource(TypeSpec.Builder adapter) {
+        final TypeMirror clazz = getItemType();
+        final TypeName itemType = TypeName.get(clazz);
+        final ClassName itemSource = ClassName.get(parsingInfo.pkg.getQualifiedName().toString(), parsingInfo.adapterName)
+                .nestedClass(ITEM_SOURCE);
+        final ClassName mappedItemSource = itemSource.peerClass(MAPPED_ITEM_SOURCE);
+
+        final String argPosition = "position";
+        final String argReusable = "reusable";
+        final String argSource = "source";
+        final String argFile = "file";
+        final String argHeaderSize = "headerSize";
+        final String argRecordSize = "recordSize";
+        final String argOrder = "order";
+        final String argRecords = "records";
+        final String argOffset = "offset";
+
+        final String fieldCount = "itemCount";
+        final String fieldChunks = "chunks";
+        final String fieldRecordSize = "recordSize";
+        final String fieldChunkRecords = "chunkRecords";
+        final String fieldCountMapped = "count";
+
+        adapter.addType(TypeSpec.interfaceBuilder(ITEM_SOURCE)
+                .addModifiers(Modifier.PUBLIC)
+                .addMethod(MethodSpec.methodBuilder("count")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(TypeName.INT)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("get")
+                        .addJavadoc("Called on the main thread for bound items only\n")
+                        .addJavadoc("\n")
+                        .addJavadoc("@param $L previously returned instance which may be reused, or {@code null}\n", argReusable)
+                        .addJavadoc("@return item at {@code $L}\n", argPosition)
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .addParameter(TypeName.INT, argPosition)
+                        .addParameter(itemType, argReusable)
+                        .returns(itemType)
+                        .build())
+                .build());
+
+        // a single buffer maps at most Integer.MAX_VALUE bytes, larger files are mapped in chunks of whole records
+        adapter.addType(TypeSpec.classBuilder(MAPPED_ITEM_SOURCE)
+                .addJavadoc("Reads items from fixed-size records of a file mapped into memory, following a header of\n")
+                .addJavadoc("{@code $L} bytes. Records are only decoded when requested, so opening the source does not\n", argHeaderSize)
+                .addJavadoc("depend on their number.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT, Modifier.STATIC)
+                .addSuperinterface(itemSource)
+                .addField(ByteBuffer[].class, fieldChunks, Modifier.PRIVATE, Modifier.FINAL)
+                .addField(TypeName.INT, fieldRecordSize, Modifier.PRIVATE, Modifier.FINAL)
+                .addField(TypeName.INT, fieldChunkRecords, Modifier.PRIVATE, Modifier.FINAL)
+                .addField(TypeName.INT, fieldCountMapped, Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(File.class, argFile)
+                        .addParameter(TypeName.LONG, argHeaderSize)
+                        .addParameter(TypeName.INT, argRecordSize)
+                        .addParameter(ByteOrder.class, argOrder)
+                        .addException(IOException.class)
+                        .addStatement("this.$L = $L", fieldRecordSize, argRecordSize)
+                        .addStatement("this.$L = $T.MAX_VALUE / $L", fieldChunkRecords, Integer.class, argRecordSize)
+                        .addStatement("$T raf = new $T($L, $S)", RandomAccessFile.class, RandomAccessFile.class, argFile, "r")
+                        .beginControlFlow("try")
+                        .addStatement("$T channel = raf.getChannel()", FileChannel.class)
+                        .addStatement("long $L = $T.max(0, channel.size() - $L) / $L", argRecords, Math.class, argHeaderSize, argRecordSize)
+                        .beginControlFlow("if ($L > $T.MAX_VALUE)", argRecords, Integer.class)
+                        .addStatement("throw new $T($S + $L)", IOException.class, "Too many records in ", argFile)
+                        .endControlFlow()
+                        .addStatement("this.$L = (int) $L", fieldCountMapped, argRecords)
+                        .addStatement("this.$L = new $T[(int) (($L + $L - 1) / $L)]", fieldChunks, ByteBuffer.class,
+                                argRecords, fieldChunkRecords, fieldChunkRecords)
+                        .beginControlFlow("for (int i = 0; i < $L.length; i++)", fieldChunks)
+                        .addStatement("long first = (long) i * $L", fieldChunkRecords)
+                        .addStatement("long size = $T.min($L, $L - first) * $L", Math.class, fieldChunkRecords, fieldCountMapped, argRecordSize)
+                        .addStatement("$L[i] = channel.map($T.MapMode.READ_ONLY, $L + first * $L, size).order($L)",
+                                fieldChunks, FileChannel.class, argHeaderSize, argRecordSize, argOrder)
+                        .endControlFlow()
+                        .nextControlFlow("finally")
+                        .addComment("mappings stay valid after the file is closed")
+                        .addStatement("raf.close()")
+                        .endControlFlow()
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("count")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addStatement("return $L", fieldCountMapped)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("get")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, argPosition)
+                        .addParameter(itemType, argReusable)
+                        .returns(itemType)
+                        .addStatement("return decode($L[$L / $L], ($L % $L) * $L, $L)", fieldChunks, argPosition, fieldChunkRecords,
+                                argPosition, fieldChunkRecords, fieldRecordSize, argReusable)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("decode")
+                        .addJavadoc("Decodes the record at {@code $L} using absolute getters of {@code $L}\n", argOffset, argRecords)
+                        .addJavadoc("\n")
+                        .addJavadoc("@param $L instance to decode the record into, {@code null} if a new one has to be created\n", argReusable)
+                        .addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
+                        .addParameter(ByteBuffer.class, argRecords)
+                        .addParameter(TypeName.INT, argOffset)
+                        .addParameter(itemType, argReusable)
+                        .returns(itemType)
+                        .build())
+                .build());
+
+        adapter.addField(itemSource, FIELD_ITEM_SOURCE, Modifier.PRIVATE);
+        adapter.addField(TypeName.INT, fieldCount, Modifier.PRIVATE);
+
+        adapter.addMethod(MethodSpec.methodBuilder("setItemSource")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(itemSource, argSource)
+                .addStatement("this.$L = $L", FIELD_ITEM_SOURCE, argSource)
+                .addStatement("this.$L = $L != null ? $L.count() : 0", fieldCount, argSource, argSource)
+                .addCode(clearNestedStates())
+                .addStatement("notifyDataSetChanged()")
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("getItemSource")
+                .addModifiers(Modifier.PROTECTED)
+                .returns(itemSource)
+                .addStatement("return this.$L", FIELD_ITEM_SOURCE)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("getItemCount")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(TypeName.INT)
+                .addStatement("return this.$L", fieldCount)
+                .build());
+    }
+
+    /**
+     * Generates {@code getItemViewType} based on {@link ViewType#type()} and {@link Matches} methods, checked
+     * in the declaration order. Resolved view types are cached in an {@code int[]} kept in sync with the data,
+     * so that {@code getItemViewType} is a plain array access.
+     */
+    private void implementViewTypeResolution(TypeSpec.Builder adapter) {
+        final String argItem = "item";
+        final String argPosition = "position";
+        final String argRemoved = "removed";
+        final String argInserted = "inserted";
+        final String varTypes = "types";
+        final TypeMirror clazz = getItemType();
+
+        adapter.addField(FieldSpec.builder(int[].class, FIELD_VIEW_TYPES, Modifier.PRIVATE)
+                .initializer("new int[0]")
+                .build());
+
+        MethodSpec.Builder resolve = MethodSpec.methodBuilder(METHOD_RESOLVE_VIEW_TYPE)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.get(clazz), argItem)
+                .returns(TypeName.INT);
+
+        ViewTypeInfo fallback = null;
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            if (viewTypeInfo.itemClass != null) {
+                resolve.beginControlFlow("if ($L instanceof $T)", argItem, typeUtils.erasure(viewTypeInfo.itemClass))
+                        .addStatement("return $L", viewTypeInfo.viewType)
+                        .endControlFlow();
+            } else if (viewTypeInfo.matcher != null) {
+                resolve.beginControlFlow("if ($L.$L($L))", viewTypeInfo.viewTypeAdapter.getSimpleName(), viewTypeInfo.matcher, argItem)
+                        .addStatement("return $L", viewTypeInfo.viewType)
+                        .endControlFlow();
+            } else if (fallback == null) {
+                fallback = viewTypeInfo;
+            }
+        }
+        if (fallback != null) {
+            resolve.addStatement("return $L", fallback.viewType);
+        } else {
+            resolve.addStatement("throw new $T($S + $L)", IllegalArgumentException.class, "No view type matches ", argItem);
+        }
+        adapter.addMethod(resolve.build());
+
+        MethodSpec.Builder getItemViewType = MethodSpec.methodBuilder("getItemViewType")
+                .addParameter(TypeName.INT, argPosition)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT);
+
+        if (parsingInfo.paged != null) {
+            getItemViewType.addStatement("int viewType = $L[$L]", FIELD_VIEW_TYPES, argPosition)
+                    .beginControlFlow("if (viewType == $L)", VIEW_TYPE_PLACEHOLDER)
+                    .addStatement("loadPage($L / $L)", argPosition, PAGE_SIZE)
+                    .endControlFlow()
+                    .addStatement("return viewType");
+            adapter.addMethod(getItemViewType.build());
+            return;
+        }
+        getItemViewType.addStatement("return $L[$L]", FIELD_VIEW_TYPES, argPosition);
+        adapter.addMethod(getItemViewType.build());
+
+        final String field = parsingInfo.dataInfo.field;
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_UPDATE_VIEW_TYPES)
+                .addJavadoc("Updates cached view types after {@code $L} items at {@code $L} got replaced with {@code $L} items\n",
+                        argRemoved, argPosition, argInserted)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.INT, argRemoved)
+                .addParameter(TypeName.INT, argInserted)
+                .addStatement("int size = this.$L.size()", field)
+                .addStatement("int[] $L = $L", varTypes, FIELD_VIEW_TYPES)
+                .beginControlFlow("if ($L.length < size)", varTypes)
+                .addStatement("$L = new int[$T.max(size, $L.length * 2)]", varTypes, Math.class, FIELD_VIEW_TYPES)
+                .addStatement("$T.arraycopy($L, 0, $L, 0, $L)", System.class, FIELD_VIEW_TYPES, varTypes, argPosition)
+                .endControlFlow()
+                .addStatement("$T.arraycopy($L, $L + $L, $L, $L + $L, size - $L - $L)", System.class,
+                        FIELD_VIEW_TYPES, argPosition, argRemoved, varTypes, argPosition, argInserted, argPosition, argInserted)
+                .beginControlFlow("for (int i = $L, n = $L + $L; i < n; i++)", argPosition, argPosition, argInserted)
+                .addStatement("$L[i] = $L(this.$L.get(i))", varTypes, METHOD_RESOLVE_VIEW_TYPE, field)
+                .endControlFlow()
+                .addStatement("$L = $L", FIELD_VIEW_TYPES, varTypes)
+                .build());
+    }
+
+    /**
+     * Generates a thread-safe setter coalescing updates. Posted snapshots replace the pending one, tagged with
+     * a monotonically increasing version, and the latest of them is applied on the main thread at the next frame.
+     */
+    private void implementCoalescing(TypeSpec.Builder adapter, TypeName typeName, TypeMirror clazz, String argElements, boolean diff) {
+        final DataInfo dataInfo = parsingInfo.dataInfo;
+        final String handler = mainHandler(adapter);
+        final String lock = dataInfo.pendingField() + "Lock";
+        final String pending = dataInfo.pendingField();
+        final String pendingVersion = dataInfo.pendingField() + "Version";
+        final String scheduled = dataInfo.pendingField() + "Scheduled";
+        final String appliedVersion = "applied" + dataInfo.capitalized() + "Version";
+        final String schedule = "schedule" + dataInfo.capitalized() + "Update";
+        final String frameCallback = dataInfo.applyPendingMethod() + "Callback";
+        final String varSnapshot = "snapshot";
+        final String varVersion = "version";
+
+        adapter.addField(FieldSpec.builder(Object.class, lock, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T()", Object.class)
+                .build());
+        adapter.addField(typeName, pending, Modifier.PRIVATE);
+        adapter.addField(TypeName.LONG, pendingVersion, Modifier.PRIVATE);
+        adapter.addField(TypeName.BOOLEAN, scheduled, Modifier.PRIVATE);
+        adapter.addField(FieldSpec.builder(TypeName.LONG, appliedVersion, Modifier.PRIVATE)
+                .addJavadoc("Version of the latest applied update, accessed on the main thread only\n")
+                .build());
+
+        adapter.addField(FieldSpec.builder(FRAME_CALLBACK, frameCallback, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("$L", TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(FRAME_CALLBACK)
+                        .addMethod(MethodSpec.methodBuilder("doFrame")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(TypeName.LONG, "frameTimeNanos")
+                                .addStatement("$L()", dataInfo.applyPendingMethod())
+                                .build())
+                        .build())
+                .build());
+        adapter.addField(FieldSpec.builder(Runnable.class, schedule, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("$L", TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(Runnable.class)
+                        .addMethod(MethodSpec.methodBuilder("run")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addStatement("$T.getInstance().postFrameCallback($L)", CHOREOGRAPHER, frameCallback)
+                                .build())
+                        .build())
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(dataInfo.postMethod())
+                .addJavadoc("Thread-safe variant of the data setter. Only the latest of the lists posted until the next frame\n")
+                .addJavadoc("is applied, on the main thread, and lists set synchronously in the meantime take precedence.\n")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(typeName, argElements)
+                .addStatement("$T $L = $L != null ? new $T<$T>($L) : new $T<$T>()", typeName, varSnapshot,
+                        argElements, ArrayList.class, clazz, argElements, ArrayList.class, clazz)
+                .beginControlFlow("synchronized ($L)", lock)
+                .addStatement("$L = $L", pending, varSnapshot)
+                .addStatement("$L++", pendingVersion)
+                .beginControlFlow("if ($L)", scheduled)
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("$L = true", scheduled)
+                .endControlFlow()
+                .addComment("frame callbacks have to be posted from the main thread")
+                .addStatement("$L.post($L)", handler, schedule)
+                .build());
+
+        MethodSpec.Builder apply = MethodSpec.methodBuilder(dataInfo.applyPendingMethod())
+                .addModifiers(Modifier.PRIVATE)
+                .addStatement("$T $L", typeName, varSnapshot)
+                .addStatement("long $L", varVersion)
+                .beginControlFlow("synchronized ($L)", lock)
+                .addStatement("$L = $L", varSnapshot, pending)
+                .addStatement("$L = $L", varVersion, pendingVersion)
+                .addStatement("$L = null", pending)
+                .addStatement("$L = false", scheduled)
+                .endControlFlow()
+                .beginControlFlow("if ($L == null || $L <= $L)", varSnapshot, varVersion, appliedVersion)
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("$L = $L", appliedVersion, varVersion);
+        if (diff) {
+            apply.addStatement("$L($L)", dataInfo.diffMethod(), varSnapshot);
+        } else {
+            apply.addCode(replaceData(varSnapshot))
+                    .addStatement("notifyDataSetChanged()");
+        }
+        adapter.addMethod(apply.build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(dataInfo.dropPendingMethod())
+                .addModifiers(Modifier.PRIVATE)
+                .beginControlFlow("synchronized ($L)", lock)
+                .addStatement("$L = null", pending)
+                .addStatement("$L = $L", appliedVersion, pendingVersion)
+                .endControlFlow()
+                .build());
+    }
+
+    /**
+     * @return statements replacing the data with {@code elements} as a whole
+     */
+    private CodeBlock replaceData(String elements) {
+        CodeBlock.Builder block = CodeBlock.builder();
+        if (parsingInfo.columns != null)
+            block.addStatement("this.$L = new $T($L)", parsingInfo.dataInfo.field, columnsClass(), elements);
+        else
+            block.addStatement("this.$L = $L", parsingInfo.dataInfo.field, elements);
+        return block.add(dataReplaced()).add(clearNestedStates()).build();
+    }
+
+    /**
+     * Backs the adapter with columns of the {@link Column} values of its items instead of the items themselves.
+     * Numeric values are kept in primitive arrays and strings as indices into a table of distinct strings,
+     * so that large data sets take a fraction of the heap and binding reads contiguous memory.
+     * Rows receive the flyweight accessor of their ViewHolder, pointed at the bound position.
+     */
+    private void implementColumnarData(TypeSpec.Builder adapter, MethodSpec.Builder dataSetter, TypeName typeName, TypeMirror clazz, String argElements) {
+        final DataInfo dataInfo = parsingInfo.dataInfo;
+        final ClassName columns = columnsClass();
+        final ClassName accessor = accessorClass();
+        final String argItems = "items";
+        final String argPosition = "position";
+        final String varItem = "item";
+        final String varIds = "ids";
+        final String varTable = "table";
+
+        boolean strings = false;
+        for (ColumnInfo column : parsingInfo.columns) {
+            strings |= column.string;
+        }
+
+        TypeSpec.Builder columnsType = TypeSpec.classBuilder(columns)
+                .addJavadoc("Values of the {@link $T} accessors of the items, stored column by column\n", Column.class)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(TypeName.INT, "size", Modifier.FINAL);
+
+        MethodSpec.Builder ctor = MethodSpec.constructorBuilder()
+                .addParameter(typeName, argItems)
+                .addStatement("size = $L.size()", argItems);
+        for (ColumnInfo column : parsingInfo.columns) {
+            TypeName stored = column.string ? TypeName.INT : column.type;
+            columnsType.addField(ArrayTypeName.of(stored), column.field(), Modifier.FINAL);
+            ctor.addStatement("$L = new $T[size]", column.field(), stored);
+        }
+        if (strings) {
+            columnsType.addField(String[].class, COLUMNS_STRINGS, Modifier.FINAL);
+            ctor.addStatement("$T<$T, $T> $L = new $T<>()", Map.class, String.class, Integer.class, varIds, HashMap.class)
+                    .addStatement("$T<$T> $L = new $T<>()", List.class, String.class, varTable, ArrayList.class);
+        }
+        ctor.beginControlFlow("for (int i = 0; i < size; i++)")
+                .addStatement("$T $L = $L.get(i)", clazz, varItem, argItems);
+        for (ColumnInfo column : parsingInfo.columns) {
+            if (column.string)
+                ctor.addStatement("$L[i] = $L($L.$L(), $L, $L)", column.field(), METHOD_INTERN, varItem, column.method, varIds, varTable);
+            else
+                ctor.addStatement("$L[i] = $L.$L()", column.field(), varItem, column.method);
+        }
+        ctor.endControlFlow();
+        if (strings)
+            ctor.addStatement("$L = $L.toArray(new $T[$L.size()])", COLUMNS_STRINGS, varTable, String.class, varTable);
+        columnsType.addMethod(ctor.build());
+
+        TypeSpec.Builder accessorType = TypeSpec.classBuilder(accessor)
+                .addJavadoc("Flyweight exposing the {@link $T} values of the item bound to its ViewHolder.\n", Column.class)
+                .addJavadoc("It is reused for every item bound to the ViewHolder, so it must not be retained.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addField(columns, COLUMNS_FIELD)
+                .addField(TypeName.INT, COLUMNS_POSITION);
+
+        for (ColumnInfo column : parsingInfo.columns) {
+            MethodSpec.Builder get = MethodSpec.methodBuilder(column.method)
+                    .addParameter(TypeName.INT, argPosition)
+                    .returns(column.type);
+            if (column.string)
+                get.addStatement("int id = $L[$L]", column.field(), argPosition)
+                        .addStatement("return id < 0 ? null : $L[id]", COLUMNS_STRINGS);
+            else
+                get.addStatement("return $L[$L]", column.field(), argPosition);
+            columnsType.addMethod(get.build());
+
+            accessorType.addMethod(MethodSpec.methodBuilder(column.method)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(column.type)
+                    .addStatement("return $L.$L($L)", COLUMNS_FIELD, column.method, COLUMNS_POSITION)
+                    .build());
+        }
+
+        if (strings) {
+            final String argValue = "value";
+            columnsType.addMethod(MethodSpec.methodBuilder(METHOD_INTERN)
+                    .addJavadoc("@return index of {@code $L} in the string table, -1 for null\n", argValue)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .addParameter(String.class, argValue)
+                    .addParameter(ParameterizedTypeName.get(Map.class, String.class, Integer.class), varIds)
+                    .addParameter(ParameterizedTypeName.get(List.class, String.class), varTable)
+                    .returns(TypeName.INT)
+                    .beginControlFlow("if ($L == null)", argValue)
+                    .addStatement("return -1")
+                    .endControlFlow()
+                    .addStatement("$T id = $L.get($L)", Integer.class, varIds, argValue)
+                    .beginControlFlow("if (id == null)")
+                    .addStatement("id = $L.size()", varTable)
+                    .addStatement("$L.put($L, id)", varIds, argValue)
+                    .addStatement("$L.add($L)", varTable, argValue)
+                    .endControlFlow()
+                    .addStatement("return id")
+                    .build());
+        }
+
+        adapter.addType(columnsType.build());
+        adapter.addType(accessorType.build());
+
+        adapter.addField(FieldSpec.builder(columns, dataInfo.field, Modifier.PRIVATE)
+                .initializer("new $T(new $T<$T>())", columns, ArrayList.class, clazz)
+                .build());
+
+        // items are only read while building the columns, so there is no need to copy them
+        dataSetter.addStatement("$T $L = $L != null ? $L : new $T<$T>()", typeName, "elements", argElements, argElements, ArrayList.class, clazz);
+        if (dataInfo.data.coalesce()) {
+            implementCoalescing(adapter, typeName, clazz, argElements, false);
+            dataSetter.addStatement("$L()", dataInfo.dropPendingMethod());
+        }
+        dataSetter.addCode(replaceData("elements"));
+
+        adapter.addMethod(dataSetter.build());
+        adapter.addMethod(MethodSpec.methodBuilder("getItemCount")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(TypeName.INT)
+                .addStatement("return this.$L.size", dataInfo.field)
+                .build());
+    }
+
+    /**
+     * @return statements updating state derived from the data after it has been replaced as a whole
+     */
+    private CodeBlock dataReplaced() {
+        CodeBlock.Builder block = CodeBlock.builder();
+        if (parsingInfo.resolveViewTypes)
+            block.addStatement("$L(0, 0, $L.size())", METHOD_UPDATE_VIEW_TYPES, parsingInfo.dataInfo.field);
+        if (parsingInfo.precomputeStride > 0)
+            block.addStatement("$L()", METHOD_RESET_PRECOMPUTED);
+        return block.build();
+    }
+
+    /**
+     * @return statements updating state derived from the data after {@code removed} items at {@code position}
+     * have been replaced with {@code inserted} items
+     */
+    private CodeBlock dataChanged(String position, String removed, String inserted) {
+        CodeBlock.Builder block = CodeBlock.builder();
+        if (parsingInfo.resolveViewTypes)
+            block.addStatement("$L($L, $L, $L)", METHOD_UPDATE_VIEW_TYPES, position, removed, inserted);
+        if (parsingInfo.precomputeStride > 0)
+            block.addStatement("$L($L, $L, $L)", METHOD_UPDATE_PRECOMPUTED, position, removed, inserted);
+        return block.build();
+    }
+
+    /**
+     * Generates background precomputation of {@code @Row(precompute = true)} values. Values are computed
+     * in batches and published on the main thread into a table holding {@code PRECOMPUTE_STRIDE} values per
+     * position. Published values are only stored if the item at their position is still the same instance,
+     * so results outdated by data changes are dropped and computed synchronously during binding instead.
+     */
+    private void implementPrecompute(TypeSpec.Builder adapter) {
+        final TypeMirror clazz = getItemType();
+        final String field = parsingInfo.dataInfo.field;
+        final String handler = mainHandler(adapter);
+        final String argItem = "item";
+        final String argValues = "values";
+        final String argOffset = "offset";
+        final String argPosition = "position";
+        final String argRemoved = "removed";
+        final String argInserted = "inserted";
+        final String argCount = "count";
+        final String argIndex = "index";
+        final String varTable = "table";
+
+        adapter.addField(FieldSpec.builder(Executor.class, PRECOMPUTE_EXECUTOR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.newSingleThreadExecutor()", Executors.class)
+                .build());
+        adapter.addField(FieldSpec.builder(TypeName.INT, PRECOMPUTE_STRIDE, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", parsingInfo.precomputeStride)
+                .build());
+        adapter.addField(FieldSpec.builder(TypeName.INT, PRECOMPUTE_BATCH, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("64")
+                .build());
+        adapter.addField(FieldSpec.builder(Object[].class, FIELD_PRECOMPUTED, Modifier.PRIVATE)
+                .initializer("new Object[0]")
+                .build());
+        adapter.addField(TypeName.INT, FIELD_PRECOMPUTE_GENERATION, Modifier.PRIVATE, Modifier.VOLATILE);
+
+        // computes the values of a single item, called on the background thread
+        MethodSpec.Builder precomputeItem = MethodSpec.methodBuilder("precomputeItem")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.get(clazz), argItem)
+                .addParameter(Object[].class, argValues)
+                .addParameter(TypeName.INT, argOffset);
+        boolean single = parsingInfo.adapterInfo.size() == 1;
+        if (!single)
+            precomputeItem.beginControlFlow("switch ($L($L))", METHOD_RESOLVE_VIEW_TYPE, argItem);
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            if (!single)
+                precomputeItem.addCode("case $L:\n$>", viewTypeInfo.viewType);
+            for (int i = 0; i < viewTypeInfo.rows.size(); ++i) {
+                RowInfo info = viewTypeInfo.rows.get(i);
+                if (info.precomputeSlots == null)
+                    continue;
+                for (int dataNum = 0; dataNum < info.row.dataId().length; dataNum++) {
+                    precomputeItem.addStatement("$L[$L + $L] = $L.$L(null, $L, $L)", argValues, argOffset, info.precomputeSlots[dataNum],
+                            viewTypeInfo.viewTypeAdapter.getSimpleName(), info.method.methodName, info.row.dataId()[dataNum], argItem);
+                }
+            }
+            if (!single)
+                precomputeItem.addStatement("break").addCode("$<");
+        }
+        if (!single)
+            precomputeItem.endControlFlow();
+        adapter.addMethod(precomputeItem.build());
+
+        TypeSpec publish = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .beginControlFlow("for (int i = 0; i < batch.length; i++)")
+                        .addStatement("int $L = from + i", argPosition)
+                        .beginControlFlow("if ($L < $L.size() && $L.get($L) == batch[i])", argPosition, field, field, argPosition)
+                        .addStatement("$T.arraycopy($L, i * $L, $L, $L * $L, $L)", System.class,
+                                argValues, PRECOMPUTE_STRIDE, FIELD_PRECOMPUTED, argPosition, PRECOMPUTE_STRIDE, PRECOMPUTE_STRIDE)
+                        .endControlFlow()
+                        .endControlFlow()
+                        .build())
+                .build();
+
+        TypeSpec compute = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .beginControlFlow("for (int start = 0; start < snapshot.length; start += $L)", PRECOMPUTE_BATCH)
+                        .beginControlFlow("if (generation != $L)", FIELD_PRECOMPUTE_GENERATION)
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("final int from = $L + start", argPosition)
+                        .addStatement("final Object[] batch = $T.copyOfRange(snapshot, start, $T.min(snapshot.length, start + $L))",
+                                Arrays.class, Math.class, PRECOMPUTE_BATCH)
+                        .addStatement("final Object[] $L = new Object[batch.length * $L]", argValues, PRECOMPUTE_STRIDE)
+                        .beginControlFlow("for (int i = 0; i < batch.length; i++)")
+                        .addStatement("precomputeItem(($T) batch[i], $L, i * $L)", clazz, argValues, PRECOMPUTE_STRIDE)
+                        .endControlFlow()
+                        .addStatement("$L.post($L)", handler, publish)
+                        .endControlFlow()
+                        .build())
+                .build();
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_PRECOMPUTE)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPosition, Modifier.FINAL)
+                .addParameter(TypeName.INT, argCount)
+                .beginControlFlow("if ($L == 0)", argCount)
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("final Object[] snapshot = this.$L.subList($L, $L + $L).toArray()", field, argPosition, argPosition, argCount)
+                .addStatement("final int generation = $L", FIELD_PRECOMPUTE_GENERATION)
+                .addStatement("$L.execute($L)", PRECOMPUTE_EXECUTOR, compute)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_RESET_PRECOMPUTED)
+                .addModifiers(Modifier.PRIVATE)
+                .addComment("stop computing values for the replaced data")
+                .addStatement("$L++", FIELD_PRECOMPUTE_GENERATION)
+                .addStatement("$L = new Object[this.$L.size() * $L]", FIELD_PRECOMPUTED, field, PRECOMPUTE_STRIDE)
+                .addStatement("$L(0, this.$L.size())", METHOD_PRECOMPUTE, field)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_UPDATE_PRECOMPUTED)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.INT, argRemoved)
+                .addParameter(TypeName.INT, argInserted)
+                .addStatement("int size = this.$L.size()", field)
+                .addStatement("Object[] $L = $L", varTable, FIELD_PRECOMPUTED)
+                .beginControlFlow("if ($L.length < size * $L)", varTable, PRECOMPUTE_STRIDE)
+                .addStatement("$L = new Object[$T.max(size * $L, $L.length * 2)]", varTable, Math.class, PRECOMPUTE_STRIDE, FIELD_PRECOMPUTED)
+                .addStatement("$T.arraycopy($L, 0, $L, 0, $L * $L)", System.class, FIELD_PRECOMPUTED, varTable, argPosition, PRECOMPUTE_STRIDE)
+                .endControlFlow()
+                .addStatement("$T.arraycopy($L, ($L + $L) * $L, $L, ($L + $L) * $L, (size - $L - $L) * $L)", System.class,
+                        FIELD_PRECOMPUTED, argPosition, argRemoved, PRECOMPUTE_STRIDE,
+                        varTable, argPosition, argInserted, PRECOMPUTE_STRIDE,
+                        argPosition, argInserted, PRECOMPUTE_STRIDE)
+                .addStatement("$T.fill($L, $L * $L, ($L + $L) * $L, null)", Arrays.class, varTable,
+                        argPosition, PRECOMPUTE_STRIDE, argPosition, argInserted, PRECOMPUTE_STRIDE)
+                .addStatement("$L = $L", FIELD_PRECOMPUTED, varTable)
+                .addStatement("$L($L, $L)", METHOD_PRECOMPUTE, argPosition, argInserted)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_PRECOMPUTED)
+                .addJavadoc("@return precomputed value or {@code null} if it has not been computed yet\n")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.INT, argIndex)
+                .returns(Object.class)
+                .addStatement("int i = $L * $L + $L", argPosition, PRECOMPUTE_STRIDE, argIndex)
+                .addStatement("return i < $L.length ? $L[i] : null", FIELD_PRECOMPUTED, FIELD_PRECOMPUTED)
+                .build());
+    }
+
+    /**
+     * Assigns every precomputed row value its index within the position's entry of the precomputed values table
+     */
+    private void assignPrecomputeSlots() {
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            int slot = 0;
+            for (RowInfo info : viewTypeInfo.rows.values()) {
+                if (!info.row.precompute())
+                    continue;
+                if (info.method.resultType.getKind() == TypeKind.VOID)
+                    throw new IllegalArgumentException(String.format("@Row %s cannot be precomputed, it does not return a value", info.method.methodName));
+                if (parsingInfo.paged != null)
+                    throw new IllegalArgumentException("@Row(precompute = true) cannot be used together with @Paged");
+                if (parsingInfo.adapterInfo.size() > 1 && !parsingInfo.resolveViewTypes)
+                    throw new IllegalArgumentException("@Row(precompute = true) requires view types to be resolved using @ViewType(type) or @Matches");
+
+                info.precomputeSlots = new int[info.row.dataId().length];
+                for (int dataNum = 0; dataNum < info.precomputeSlots.length; dataNum++)
+                    info.precomputeSlots[dataNum] = slot++;
+            }
+            parsingInfo.precomputeStride = Math.max(parsingInfo.precomputeStride, slot);
+        }
+    }
+
+    /**
+     * Adds a main thread {@code Handler} field to the adapter, unless it has been added already
+     *
+     * @return name of the field
+     */
+    private String mainHandler(TypeSpec.Builder adapter) {
+        final String handlerField = "mainHandler";
+        if (!parsingInfo.mainHandler) {
+            adapter.addField(
+                    FieldSpec.builder(HANDLER, handlerField, Modifier.PRIVATE, Modifier.FINAL)
+                            .initializer("new $T($T.getMainLooper())", HANDLER, LOOPER)
+                            .build());
+            parsingInfo.mainHandler = true;
+        }
+        return handlerField;
+    }
+
+    /**
+     * Generates methods modifying the data in place, each of them dispatching the matching
+     * ranged notification.
+     */
+    private void implementMutations(TypeSpec.Builder adapter, TypeName typeName, TypeMirror clazz, boolean diff) {
+        final DataInfo dataInfo = parsingInfo.dataInfo;
+        final String field = dataInfo.field;
+        final String argPosition = "position";
+        final String argCount = "count";
+        final String argElements = "elements";
+        final String argElement = "element";
+
+        // list instances handed to a background diff must stay untouched
+        CodeBlock.Builder own = CodeBlock.builder();
+        if (diff) {
+            own.beginControlFlow("if ($L)", dataInfo.sharedField())
+                    .addStatement("this.$L = new $T<>(this.$L)", field, ArrayList.class, field)
+                    .addStatement("$L = false", dataInfo.sharedField())
+                    .endControlFlow();
+        }
+
+        adapter.addMethod(MethodSpec.methodBuilder("append" + dataInfo.capitalized())
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(typeName, argElements)
+                .beginControlFlow("if ($L == null || $L.isEmpty())", argElements, argElements)
+                .addStatement("return")
+                .endControlFlow()
+                .addCode(own.build())
+                .addStatement("int $L = this.$L.size()", argPosition, field)
+                .addStatement("this.$L.addAll($L)", field, argElements)
+                .addCode(dataChanged(argPosition, "0", argElements + ".size()"))
+                .addStatement("notifyItemRangeInserted($L, $L.size())", argPosition, argElements)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("insert" + dataInfo.capitalized())
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(typeName, argElements)
+                .beginControlFlow("if ($L == null || $L.isEmpty())", argElements, argElements)
+                .addStatement("return")
+                .endControlFlow()
+                .addCode(own.build())
+                .addStatement("this.$L.addAll($L, $L)", field, argPosition, argElements)
+                .addCode(dataChanged(argPosition, "0", argElements + ".size()"))
+                .addStatement("notifyItemRangeInserted($L, $L.size())", argPosition, argElements)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("remove" + dataInfo.capitalized() + "Range")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.INT, argCount)
+                .beginControlFlow("if ($L <= 0)", argCount)
+                .addStatement("return")
+                .endControlFlow()
+                .addCode(own.build())
+                .addStatement("this.$L.subList($L, $L + $L).clear()", field, argPosition, argPosition, argCount)
+                .addCode(dataChanged(argPosition, argCount, "0"))
+                .addStatement("notifyItemRangeRemoved($L, $L)", argPosition, argCount)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("replace" + dataInfo.capitalized() + "At")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.get(clazz), argElement)
+                .addCode(own.build())
+                .addStatement("this.$L.set($L, $L)", field, argPosition, argElement)
+                .addCode(dataChanged(argPosition, "1", "1"))
+                .addStatement("notifyItemChanged($L)", argPosition)
+                .build());
+    }
+
+    /**
+     * Enables stable ids using the {@link ItemId} annotated accessor of the item type.
+     * {@code String} keys are hashed in place to avoid allocations in {@code getItemId}.
+     */
+    private void implementStableIds(TypeSpec.Builder adapter) {
+        ItemIdInfo itemId = parsingInfo.itemIdInfo;
+        if (itemId == null)
+            return;
+
+        final String argPosition = "position";
+
+        adapter.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("setHasStableIds(true)")
+                .build());
+
+        MethodSpec.Builder getItemId = MethodSpec.methodBuilder("getItemId")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, argPosition)
+                .returns(TypeName.LONG);
+
+        String item = itemAt(argPosition);
+        if (parsingInfo.sourced != null) {
+            // decoded into a dedicated instance, so that ids do not allocate
+            item = "idItem";
+            adapter.addField(TypeName.get(getItemType()), item, Modifier.PRIVATE);
+            getItemId.addStatement("$L = this.$L.get($L, $L)", item, FIELD_ITEM_SOURCE, argPosition, item);
+        } else if (parsingInfo.paged != null) {
+            item = "item";
+            getItemId
+                    .addStatement("$T $L = $L", getItemType(), item, itemAt(argPosition))
+                    .beginControlFlow("if ($L == null)", item)
+                    .addStatement("return $T.NO_ID", RECYCLER_VIEW)
+                    .endControlFlow();
+        }
+
+        // columns expose item values by position
+        String key = parsingInfo.columns != null
+                ? String.format("this.%s.%s(%s)", parsingInfo.dataInfo.field, itemId.method, argPosition)
+                : String.format("%s.%s()", item, itemId.method);
+        if (itemId.string) {
+            getItemId.addStatement("return $L($L)", METHOD_STABLE_ID, key);
+
+            final String argKey = "key";
+            final String varHash = "hash";
+            adapter.addMethod(MethodSpec.methodBuilder(METHOD_STABLE_ID)
+                    .addJavadoc("64-bit FNV-1a hash of {@code $L}\n", argKey)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .addParameter(String.class, argKey)
+                    .returns(TypeName.LONG)
+                    .beginControlFlow("if ($L == null)", argKey)
+                    .addStatement("return $T.NO_ID", RECYCLER_VIEW)
+                    .endControlFlow()
+                    .addStatement("long $L = 0xcbf29ce484222325L", varHash)
+                    .beginControlFlow("for (int i = 0, n = $L.length(); i < n; i++)", argKey)
+                    .addStatement("$L ^= $L.charAt(i)", varHash, argKey)
+                    .addStatement("$L *= 0x100000001b3L", varHash)
+                    .endControlFlow()
+                    .addStatement("return $L", varHash)
+                    .build());
+        } else {
+            getItemId.addStatement("return $L", key);
+        }
+        adapter.addMethod(getItemId.build());
+    }
+
+    /**
+     * Makes the data setter compute the difference between the current and the new data on
+     * a background thread, then swap the data and dispatch the resulting notifications on the
+     * main thread. Results computed for a snapshot that got superseded in the meantime are dropped,
+     * results computed against data that has been modified in place are computed again.
+     */
+    private void implementDiffing(TypeSpec.Builder adapter, TypeName typeName, TypeMirror clazz) {
+        final DataInfo dataInfo = parsingInfo.dataInfo;
+        final String field = dataInfo.field;
+        final String versionField = dataInfo.versionField();
+        final String sharedField = dataInfo.sharedField();
+        final String handlerField = mainHandler(adapter);
+        final String argPrevious = "previous";
+        final String argElements = "elements";
+        final String argVersion = "version";
+        final String varResult = "result";
+        final ClassName diffResult = DIFF_UTIL.nestedClass("DiffResult");
+        final ClassName adapterClass = ClassName.get(parsingInfo.pkg.getQualifiedName().toString(), parsingInfo.adapterName);
+
+        adapter.addField(
+                FieldSpec.builder(Executor.class, DIFF_EXECUTOR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.newSingleThreadExecutor()", Executors.class)
+                        .build());
+        adapter.addField(TypeName.INT, versionField, Modifier.PRIVATE);
+        adapter.addField(TypeName.BOOLEAN, sharedField, Modifier.PRIVATE);
+
+        TypeSpec dispatch = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .beginControlFlow("if ($L != $L)", argVersion, versionField)
+                        .addStatement("return")
+                        .endControlFlow()
+                        .beginControlFlow("if ($L != $L)", argPrevious, field)
+                        .addStatement("$L($L, $L, $L)", dataInfo.submitDiffMethod(), field, argElements, argVersion)
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("$L = $L", field, argElements)
+                        .addStatement("$L = false", sharedField)
+                        .addCode(dataReplaced())
+                        .addStatement("$L.dispatchUpdatesTo($T.this)", varResult, adapterClass)
+                        .build())
+                .build();
+
+        TypeSpec calculate = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("final $T $L = $T.calculateDiff(new $L($L, $L), true)",
+                                diffResult, varResult, DIFF_UTIL, DIFF_CALLBACK, argPrevious, argElements)
+                        .addStatement("$L.post($L)", handlerField, dispatch)
+                        .build())
+                .build();
+
+        adapter.addMethod(MethodSpec.methodBuilder(dataInfo.diffMethod())
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(typeName, argElements)
+                .addStatement("$T $L = this.$L", typeName, argPrevious, field)
+                .addStatement("int $L = ++this.$L", argVersion, versionField)
+                .addCode("\n")
+                .addComment("nothing to compare against, notify synchronously")
+                .beginControlFlow("if ($L.isEmpty() || $L.isEmpty())", argPrevious, argElements)
+                .addStatement("this.$L = $L", field, argElements)
+                .addStatement("this.$L = false", sharedField)
+                .addCode(dataReplaced())
+                .beginControlFlow("if (!$L.isEmpty())", argPrevious)
+                .addStatement("notifyItemRangeRemoved(0, $L.size())", argPrevious)
+                .endControlFlow()
+                .beginControlFlow("if (!$L.isEmpty())", argElements)
+                .addStatement("notifyItemRangeInserted(0, $L.size())", argElements)
+                .endControlFlow()
+                .addStatement("return")
+                .endControlFlow()
+                .addCode("\n")
+                .addStatement("$L($L, $L, $L)", dataInfo.submitDiffMethod(), argPrevious, argElements, argVersion)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(dataInfo.submitDiffMethod())
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(typeName, argPrevious, Modifier.FINAL)
+                .addParameter(typeName, argElements, Modifier.FINAL)
+                .addParameter(TypeName.INT, argVersion, Modifier.FINAL)
+                .addStatement("this.$L = true", sharedField)
+                .addStatement("$L.execute($L)", DIFF_EXECUTOR, calculate)
+                .build());
+
+        adapter.addType(createDiffCallback(typeName, clazz));
+    }
+
+    private TypeSpec createDiffCallback(TypeName typeName, TypeMirror clazz) {
+        final String oldData = "oldData";
+        final String newData = "newData";
+        final String argOld = "oldPosition";
+        final String argNew = "newPosition";
+
+        TypeSpec.Builder callback = TypeSpec.classBuilder(DIFF_CALLBACK)
+                .addModifiers(Modifier.PRIVATE)
+                .superclass(DIFF_UTIL.nestedClass("Callback"))
+                .addField(typeName, oldData, Modifier.PRIVATE, Modifier.FINAL)
+                .addField(typeName, newData, Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addParameter(typeName, oldData)
+                        .addParameter(typeName, newData)
+                        .addStatement("this.$L = $L", oldData, oldData)
+                        .addStatement("this.$L = $L", newData, newData)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getOldListSize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addStatement("return $L.size()", oldData)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getNewListSize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.INT)
+                        .addStatement("return $L.size()", newData)
+                        .build());
+
+        String[] methods = {"areItemsTheSame", "areContentsTheSame"};
+        String[] comparators = {parsingInfo.sameItem, parsingInfo.sameContent};
+        for (int i = 0; i < methods.length; i++) {
+            MethodSpec.Builder compare = MethodSpec.methodBuilder(methods[i])
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(TypeName.BOOLEAN)
+                    .addParameter(TypeName.INT, argOld)
+                    .addParameter(TypeName.INT, argNew)
+                    .addStatement("$T oldItem = $L.get($L)", clazz, oldData, argOld)
+                    .addStatement("$T newItem = $L.get($L)", clazz, newData, argNew);
+            if (comparators[i] != null) {
+                compare.addStatement("return $L(oldItem, newItem)", comparators[i]);
+            } else if (i == 0 && parsingInfo.itemIdInfo != null) {
+                String key = parsingInfo.itemIdInfo.method;
+                if (parsingInfo.itemIdInfo.string) {
+                    compare.addStatement("$T oldKey = oldItem.$L()", String.class, key)
+                            .addStatement("return oldKey == null ? newItem.$L() == null : oldKey.equals(newItem.$L())", key, key);
+                } else {
+                    compare.addStatement("return oldItem.$L() == newItem.$L()", key, key);
+                }
+            } else {
+                compare.addStatement("return oldItem == newItem || (oldItem != null && oldItem.equals(newItem))");
+            }
+            callback.addMethod(compare.build());
+        }
+        return callback.build();
     }
 
     private MethodSpec.Builder onBindViewHolderImpl(TypeSpec.Builder adapter) {
         final String argViewHolder = "vh";
         final String argPosition = "position";
+        final String argRows = "rows";
 
         final String varData = "data";
 
@@ -260,7 +1726,26 @@ public class AdapterProcessor extends AbstractProcessor {
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(Override.class)
                 .addParameter(parsingInfo.vhClassName, argViewHolder)
-                .addParameter(TypeName.INT, argPosition);
+                .addParameter(TypeName.INT, argPosition)
+                .addStatement("$L($L, $L, $L)", METHOD_BIND_ROWS, argViewHolder, argPosition, PAYLOAD_ALL_ROWS);
+
+        MethodSpec.Builder bindRows = MethodSpec.methodBuilder(METHOD_BIND_ROWS)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(parsingInfo.vhClassName, argViewHolder)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.INT, argRows);
+
+        if (parsingInfo.paged != null)
+            bindRows.addStatement("$L($L)", METHOD_PREFETCH, argPosition);
+
+        if (parsingInfo.adapt.metrics())
+            bindRows.addStatement("long start = $T.nanoTime()", System.class);
+        bindRows.beginControlFlow("switch ($L.$L)", argViewHolder, "viewType");
+
+        Set<Integer> rowNums = new TreeSet<>();
+        // names of the measured row methods, in the order of their metrics indices
+        List<String> metricsRows = new ArrayList<>();
+        int metricsViewType = 0;
 
         for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
             Integer viewType = viewTypeInfo.viewType;
@@ -268,33 +1753,69 @@ public class AdapterProcessor extends AbstractProcessor {
             MethodSpec.Builder onBindViewHolder = MethodSpec.methodBuilder("onBindViewHolder" + viewType)
                     .addModifiers(Modifier.PUBLIC)
                     .addParameter(parsingInfo.vhClassName.peerClass(parsingInfo.vhClassName.simpleName() + viewType), argViewHolder)
-                    .addParameter(TypeName.INT, argPosition);
-
-            // lazy way to extract Class at compile-time
-            // clazz is never null
-            TypeMirror clazz = null;
-            try {
-                parsingInfo.adapt.type();
-            } catch (MirroredTypeException e) {
-                clazz = e.getTypeMirror();
+                    .addParameter(TypeName.INT, argPosition)
+                    .addParameter(TypeName.INT, argRows);
+
+            TypeMirror clazz = getItemType();
+
+            if (parsingInfo.columns != null) {
+                onBindViewHolder.addStatement("$T $L = $L.$L", accessorClass(), varData, argViewHolder, VH_ITEM)
+                        .addStatement("$L.$L = this.$L", varData, COLUMNS_FIELD, parsingInfo.dataInfo.field)
+                        .addStatement("$L.$L = $L", varData, COLUMNS_POSITION, argPosition);
+            } else if (parsingInfo.sourced != null) {
+                onBindViewHolder.addStatement("$L.$L = this.$L.get($L, $L.$L)", argViewHolder, VH_ITEM, FIELD_ITEM_SOURCE, argPosition, argViewHolder, VH_ITEM)
+                        .addStatement("$T $L = $L.$L", clazz, varData, argViewHolder, VH_ITEM);
+            } else {
+                onBindViewHolder.addStatement("$T $L = $L", clazz, varData, itemAt(argPosition));
+            }
+            if (parsingInfo.paged != null) {
+                // evicted before binding
+                onBindViewHolder
+                        .beginControlFlow("if ($L == null)", varData)
+                        .addStatement("return")
+                        .endControlFlow();
             }
 
-            onBindViewHolder.addStatement("$T $L = this.$L.get($L)", clazz, varData, parsingInfo.dataInfo.field, argPosition);
+            // rows bound right away, deferred ones are left out while scrolling
+            String varBound = argRows;
+            if (deferredRows(viewTypeInfo) != null) {
+                varBound = "bound";
+                onBindViewHolder.addStatement("int $L = $L($L, $L, $L)", varBound, METHOD_DEFER_ROWS, argViewHolder, argRows, deferredRowsField(viewType));
+            }
 
             for (int i = 0; i < viewTypeInfo.rows.size(); ++i) {
                 RowInfo info = viewTypeInfo.rows.get(i);
 
+                // rows past the bitmask capacity are always bound
+                boolean partial = info.row.num() < Integer.SIZE;
+                if (partial) {
+                    rowNums.add(info.row.num());
+                    onBindViewHolder.addCode("\n");
+                    onBindViewHolder.beginControlFlow("if (($L & $L) != 0)", varBound, payloadRow(info.row.num()));
+                }
+
                 for (int dataNum = 0; dataNum < info.row.dataId().length; dataNum++) {
                     int dataId = info.row.dataId()[dataNum];
 
                     final String ijData = dataField(i, dataNum);
 
                     String iRowValue = "rowValue" + i + dataId;
-                    onBindViewHolder.addCode("\n");
+                    if (!partial || dataNum > 0)
+                        onBindViewHolder.addCode("\n");
                     onBindViewHolder.addComment("$L $L, data $L, generated using $L", Row.class.getSimpleName(), i, dataNum, info.pluginInfo.plugin.getClass().getSimpleName());
                     onBindViewHolder.addJavadoc("$L generated using {@link $L}<br/>\n", ijData, info.pluginInfo.plugin.getClass().getCanonicalName());
 
-                    if (ClassName.get(info.method.resultType) != TypeName.VOID) {
+                    String iRowStart = "rowStart" + i + dataId;
+                    if (parsingInfo.adapt.metrics())
+                        onBindViewHolder.addStatement("long $L = $T.nanoTime()", iRowStart, System.class);
+
+                    if (info.precomputeSlots != null) {
+                        String iCached = "cached" + i + dataId;
+                        onBindViewHolder.addStatement("$T $L = $L($L, $L)", Object.class, iCached, METHOD_PRECOMPUTED, argPosition, info.precomputeSlots[dataNum]);
+                        onBindViewHolder.addStatement("$T $L = $L != null ? ($T) $L : $L.$L($L.$L, $L, $L)",
+                                info.method.resultType, iRowValue, iCached, TypeName.get(info.method.resultType).box(), iCached,
+                                viewTypeInfo.viewTypeAdapter.getSimpleName(), info.method.methodName, argViewHolder, ijData, dataId, varData);
+                    } else if (ClassName.get(info.method.resultType) != TypeName.VOID) {
                         onBindViewHolder.addStatement("$T $L = $L.$L($L.$L, $L, $L)",
                                 info.method.resultType, iRowValue, viewTypeInfo.viewTypeAdapter.getSimpleName(),
                                 info.method.methodName, argViewHolder, ijData, dataId, varData);
@@ -303,17 +1824,45 @@ public class AdapterProcessor extends AbstractProcessor {
                                 info.method.methodName, argViewHolder, ijData, dataId, varData);
                     }
 
-                    if (!info.pluginInfo.pluginName.equals(IgnorePlugin.class.getCanonicalName())) {
+                    if (parsingInfo.adapt.metrics()) {
+                        onBindViewHolder.addStatement("$L($L, $L, $L, $L, $T.nanoTime() - $L)", METHOD_RECORD_METRIC,
+                                FIELD_ROW_COUNTS, FIELD_ROW_NANOS, FIELD_ROW_MAX_NANOS, metricsRows.size(), System.class, iRowStart);
+                    }
+
+                    if (info.nested != null) {
+                        onBindViewHolder.addCode(bindNestedList(adapter, info.nested, String.format("%s.%s", argViewHolder, ijData),
+                                iRowValue, nestedStatesField(viewType, i, dataNum), varData));
+                    } else if (!info.pluginInfo.pluginName.equals(IgnorePlugin.class.getCanonicalName())) {
                         CodeBlock statement = CodeBlock.of("$L", info.pluginInfo.plugin.process(i, String.format("%s.%s", argViewHolder, ijData), iRowValue));
-                        onBindViewHolder.addCode(statement);
+                        if (parsingInfo.adapt.memoize() && hasPluginValue(info)) {
+                            String lastValue = String.format("%s.%s", argViewHolder, lastValueField(i, dataNum));
+                            if (info.method.resultType.getKind().isPrimitive()) {
+                                String memoized = String.format("%s.%s", argViewHolder, memoizedField(i, dataNum));
+                                onBindViewHolder.beginControlFlow("if (!$L || $L != $L)", memoized, iRowValue, lastValue);
+                                onBindViewHolder.addStatement("$L = true", memoized);
+                            } else {
+                                onBindViewHolder.beginControlFlow("if ($L == null ? $L != null : !$L.equals($L))", iRowValue, lastValue, iRowValue, lastValue);
+                            }
+                            onBindViewHolder.addStatement("$L = $L", lastValue, iRowValue);
+                            onBindViewHolder.addCode(statement);
+                            onBindViewHolder.endControlFlow();
+                        } else {
+                            onBindViewHolder.addCode(statement);
+                        }
                     }
                 }
+
+                if (partial)
+                    onBindViewHolder.endControlFlow();
+                metricsRows.add(viewTypeInfo.viewTypeAdapter.getSimpleName() + "." + info.method.methodName);
             }
 
-            // Item-wide properties handling
+            // Item-wide properties handling, skipped on partial rebinds
             if (parsingInfo.itemInfo != null) {
                 onBindViewHolder.addCode("\n");
+                onBindViewHolder.beginControlFlow("if ($L == $L)", argRows, PAYLOAD_ALL_ROWS);
                 onBindViewHolder.addStatement("$L($L.$L, $L, $L)", parsingInfo.itemInfo.method, argViewHolder, parsingInfo.vhRoot, argPosition, varData);
+                onBindViewHolder.endControlFlow();
             }
 
             MethodSpec method = onBindViewHolder.build();
@@ -321,36 +1870,705 @@ public class AdapterProcessor extends AbstractProcessor {
 
             ClassName vhClass = parsingInfo.vhClassName.peerClass(parsingInfo.vhClassName.simpleName() + viewType);
 
-            baseOnBindViewHolder
-                    .beginControlFlow("if ($L.$L == $L)", argViewHolder, "viewType", viewType)
-                    .addStatement("$L(($T) $L, $L)", method.name, vhClass, argViewHolder, argPosition)
-                    .addStatement("return")
-                    .endControlFlow();
+            bindRows
+                    .addCode("case $L:\n$>", viewType)
+                    .addStatement("$L(($T) $L, $L, $L)", method.name, vhClass, argViewHolder, argPosition, argRows);
+            if (parsingInfo.adapt.metrics()) {
+                bindRows.addStatement("$L($L, $L, $L, $L, $T.nanoTime() - start)", METHOD_RECORD_METRIC,
+                        FIELD_BIND_COUNTS, FIELD_BIND_NANOS, FIELD_BIND_MAX_NANOS, metricsViewType++, System.class);
+            }
+            bindRows
+                    .addStatement("break")
+                    .addCode("$<");
+        }
+        bindRows.endControlFlow();
+
+        if (parsingInfo.adapt.metrics())
+            implementMetrics(adapter, metricsRows);
+
+        adapter.addField(FieldSpec.builder(TypeName.INT, PAYLOAD_ALL_ROWS, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("-1")
+                .build());
+        for (int num : rowNums) {
+            adapter.addField(FieldSpec.builder(TypeName.INT, payloadRow(num), Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addJavadoc("Payload rebinding only rows with {@code num = $L}\n", num)
+                    .initializer("1 << $L", num)
+                    .build());
         }
+
+        adapter.addMethod(bindRows.build());
+        adapter.addMethod(onBindViewHolderPayloadsImpl());
+        adapter.addMethod(notifyRowsChangedImpl());
+        if (parsingInfo.deferred)
+            implementDeferredBinding(adapter);
+        implementRecycling(adapter);
+
         return baseOnBindViewHolder;
     }
 
+    /**
+     * Generates primitive counters of ViewHolder creation and binding per view type and of row method
+     * calls per {@code @Row} method, along with the {@code AdapterMetrics} interface exposing their snapshots.
+     * Counters are only updated on the main thread and preallocated, so that recording does not allocate.
+     */
+    private void implementMetrics(TypeSpec.Builder adapter, List<String> rows) {
+        final String argIndex = "index";
+        final String argViewType = "viewType";
+        final String argCounts = "counts";
+        final String argNanos = "nanos";
+        final String argMaxNanos = "maxNanos";
+        final String argElapsed = "elapsed";
+        final int viewTypes = parsingInfo.adapterInfo.size();
+
+        String[][] counters = {
+                {FIELD_CREATE_COUNTS, FIELD_CREATE_NANOS, FIELD_CREATE_MAX_NANOS},
+                {FIELD_BIND_COUNTS, FIELD_BIND_NANOS, FIELD_BIND_MAX_NANOS},
+                {FIELD_ROW_COUNTS, FIELD_ROW_NANOS, FIELD_ROW_MAX_NANOS},
+        };
+        String[][] getters = {
+                {"getCreateCount", "getCreateNanos", "getCreateMaxNanos"},
+                {"getBindCount", "getBindNanos", "getBindMaxNanos"},
+                {"getRowCount", "getRowNanos", "getRowMaxNanos"},
+        };
+        String[] getterDocs = {
+                "@return number of ViewHolders of view type at {@code index} created by {@code onCreateViewHolder}\n",
+                "@return number of binds of ViewHolders of view type at {@code index}\n",
+                "@return number of calls of row method at {@code index}\n",
+        };
+        int[] sizes = {viewTypes, viewTypes, rows.size()};
+
+        ClassName metrics = ClassName.get(parsingInfo.pkg.toString(), parsingInfo.adapterName, METRICS_INTERFACE);
+        ClassName snapshot = ClassName.get(parsingInfo.pkg.toString(), parsingInfo.adapterName, METRICS_SNAPSHOT);
+
+        TypeSpec.Builder metricsInterface = TypeSpec.interfaceBuilder(METRICS_INTERFACE)
+                .addJavadoc("Snapshot of the adapter's metrics. View types and rows are referred to by their indices\n")
+                .addJavadoc("in {@link #getViewTypes} and {@link #getRows} respectively, times are in nanoseconds.\n")
+                .addModifiers(Modifier.PUBLIC)
+                .addMethod(MethodSpec.methodBuilder("getViewTypes")
+                        .addJavadoc("@return measured view types\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(int[].class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getRows")
+                        .addJavadoc("@return row methods, named {@code ViewTypeClass.method}\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(String[].class)
+                        .build());
+
+        TypeSpec.Builder snapshotClass = TypeSpec.classBuilder(METRICS_SNAPSHOT)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(metrics);
+
+        MethodSpec.Builder snapshotCtor = MethodSpec.constructorBuilder();
+
+        MethodSpec.Builder reset = MethodSpec.methodBuilder("resetMetrics")
+                .addModifiers(Modifier.PUBLIC);
+
+        CodeBlock.Builder newSnapshot = CodeBlock.builder().add("return new $T(", snapshot);
+
+        for (int kind = 0; kind < counters.length; kind++) {
+            for (int j = 0; j < counters[kind].length; j++) {
+                String field = counters[kind][j];
+                adapter.addField(FieldSpec.builder(long[].class, field, Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new long[$L]", sizes[kind])
+                        .build());
+
+                MethodSpec.Builder getter = MethodSpec.methodBuilder(getters[kind][j])
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .addParameter(TypeName.INT, argIndex)
+                        .returns(TypeName.LONG);
+                if (j == 0)
+                    getter.addJavadoc(getterDocs[kind]);
+                metricsInterface.addMethod(getter.build());
+
+                snapshotClass.addField(long[].class, field, Modifier.PRIVATE, Modifier.FINAL);
+                snapshotCtor.addParameter(long[].class, field);
+                snapshotCtor.addStatement("this.$L = $L", field, field);
+                snapshotClass.addMethod(MethodSpec.methodBuilder(getters[kind][j])
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(TypeName.INT, argIndex)
+                        .returns(TypeName.LONG)
+                        .addStatement("return $L[$L]", field, argIndex)
+                        .build());
+
+                reset.addStatement("$T.fill($L, 0)", Arrays.class, field);
+                newSnapshot.add("$L$L.clone()", kind + j > 0 ? ", " : "", field);
+            }
+        }
+        newSnapshot.add(");\n");
+
+        CodeBlock.Builder viewTypesArray = CodeBlock.builder().add("new int[] {");
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values())
+            viewTypesArray.add("$L$L", viewTypeInfo == parsingInfo.adapterInfo.values().iterator().next() ? "" : ", ", viewTypeInfo.viewType);
+        viewTypesArray.add("}");
+
+        CodeBlock.Builder rowsArray = CodeBlock.builder().add("new $T[] {", String.class);
+        for (int i = 0; i < rows.size(); i++)
+            rowsArray.add("$L$S", i > 0 ? ", " : "", rows.get(i));
+        rowsArray.add("}");
+
+        snapshotClass
+                .addMethod(MethodSpec.methodBuilder("getViewTypes")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(int[].class)
+                        .addStatement("return $L", viewTypesArray.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getRows")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String[].class)
+                        .addStatement("return $L", rowsArray.build())
+                        .build())
+                .addMethod(snapshotCtor.build());
+
+        adapter.addType(metricsInterface.build());
+        adapter.addType(snapshotClass.build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("getMetrics")
+                .addJavadoc("@return snapshot of metrics recorded since the adapter was created or last reset\n")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(metrics)
+                .addCode(newSnapshot.build())
+                .build());
+        adapter.addMethod(reset.build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_RECORD_METRIC)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(long[].class, argCounts)
+                .addParameter(long[].class, argNanos)
+                .addParameter(long[].class, argMaxNanos)
+                .addParameter(TypeName.INT, argIndex)
+                .addParameter(TypeName.LONG, argElapsed)
+                .addStatement("$L[$L]++", argCounts, argIndex)
+                .addStatement("$L[$L] += $L", argNanos, argIndex, argElapsed)
+                .beginControlFlow("if ($L > $L[$L])", argElapsed, argMaxNanos, argIndex)
+                .addStatement("$L[$L] = $L", argMaxNanos, argIndex, argElapsed)
+                .endControlFlow()
+                .build());
+
+        MethodSpec.Builder metricsIndex = MethodSpec.methodBuilder(METHOD_METRICS_INDEX)
+                .addJavadoc("@return index of {@code $L} in the metrics or -1 if it is not measured\n", argViewType)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(TypeName.INT, argViewType)
+                .returns(TypeName.INT)
+                .beginControlFlow("switch ($L)", argViewType);
+        int index = 0;
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values())
+            metricsIndex.addStatement("case $L: return $L", viewTypeInfo.viewType, index++);
+        metricsIndex
+                .addStatement("default: return -1")
+                .endControlFlow();
+        adapter.addMethod(metricsIndex.build());
+    }
+
+    /**
+     * Binds a nested list, setting it up with a shared pool on first use. The nested list's scroll state is
+     * saved per parent item, keyed by its {@code @ItemId} if there is one, and restored when it is bound again.
+     * The nested adapter is only handed the items when the row returns a different list instance.
+     */
+    private CodeBlock bindNestedList(TypeSpec.Builder adapter, NestedInfo nested, String list, String items, String states, String item) {
+        final ParameterizedTypeName statesType = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(Object.class), PARCELABLE);
+        if (parsingInfo.nestedPools.add(nested.poolField())) {
+            adapter.addField(FieldSpec.builder(RECYCLED_VIEW_POOL, nested.poolField(), Modifier.PRIVATE, Modifier.FINAL)
+                    .initializer("new $T()", RECYCLED_VIEW_POOL)
+                    .build());
+        }
+        adapter.addField(FieldSpec.builder(statesType, states, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $L()", NESTED_STATES)
+                .build());
+
+        String layout = list + NESTED_LAYOUT;
+        String key = list + NESTED_KEY;
+        String nestedAdapter = list + NESTED_ADAPTER;
+        String nestedItems = list + NESTED_ITEMS;
+        String stateVar = items + "State";
+
+        CodeBlock.Builder block = CodeBlock.builder()
+                .beginControlFlow("if ($L == null)", nestedAdapter)
+                .addStatement("$L = new $T($L.getContext(), $T.HORIZONTAL, false)", layout, LINEAR_LAYOUT_MANAGER, list, LINEAR_LAYOUT_MANAGER)
+                .addStatement("$L.setInitialPrefetchItemCount($L)", layout, nested.initialPrefetch)
+                .addStatement("$L.setLayoutManager($L)", list, layout)
+                .addStatement("$L.setRecycledViewPool($L)", list, nested.poolField())
+                .addStatement("$L = new $T()", nestedAdapter, nested.adapter)
+                .addStatement("$L.setAdapter($L)", list, nestedAdapter)
+                .endControlFlow()
+                .addStatement("$L($L, $L, $L)", METHOD_SAVE_NESTED_STATE, states, key, layout);
+        if (parsingInfo.itemIdInfo != null)
+            block.addStatement("$L = $L.$L()", key, item, parsingInfo.itemIdInfo.method);
+        else
+            block.addStatement("$L = $L", key, item);
+        return block
+                .beginControlFlow("if ($L != $L)", items, nestedItems)
+                .addStatement("$L = $L", nestedItems, items)
+                .addStatement("$L.$L($L)", nestedAdapter, nested.setter, items)
+                .endControlFlow()
+                .addStatement("$T $L = $L.remove($L)", PARCELABLE, stateVar, states, key)
+                .beginControlFlow("if ($L != null)", stateVar)
+                .addStatement("$L.onRestoreInstanceState($L)", layout, stateVar)
+                .nextControlFlow("else")
+                .addStatement("$L.scrollToPosition(0)", layout)
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * Generates postponing of {@code @Row(deferred = true)} rows while the attached RecyclerView is scrolling.
+     * Postponed rows are accumulated in a bitmask of their ViewHolder and bound at the next frames for as long
+     * as the frame budget allows, or all at once when scrolling stops.
+     */
+    private void implementDeferredBinding(TypeSpec.Builder adapter) {
+        final String argViewHolder = "vh";
+        final String argRows = "rows";
+        final String argDeferred = "deferred";
+        final String argDeadline = "deadline";
+        final String argRecyclerView = "recyclerView";
+        final String argState = "newState";
+        final String fieldScrollListener = FIELD_DEFERRED_SCROLL_LISTENER;
+        final String fieldFrameCallback = "deferredFrameCallback";
+        final String fieldScheduled = "deferredScheduled";
+
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            CodeBlock mask = deferredRows(viewTypeInfo);
+            if (mask == null)
+                continue;
+            adapter.addField(FieldSpec.builder(TypeName.INT, deferredRowsField(viewTypeInfo.viewType), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer(mask)
+                    .build());
+        }
+        adapter.addField(FieldSpec.builder(TypeName.LONG, DEFERRED_FRAME_BUDGET, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addJavadoc("Time after the start of a frame until which deferred rows are bound while scrolling\n")
+                .initializer("4000000L")
+                .build());
+        adapter.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), parsingInfo.vhClassName),
+                FIELD_DEFERRED_HOLDERS, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T<>()", ArrayList.class)
+                .build());
+        adapter.addField(FieldSpec.builder(TypeName.INT, FIELD_SCROLL_STATE, Modifier.PRIVATE)
+                .initializer("$T.SCROLL_STATE_IDLE", RECYCLER_VIEW)
+                .build());
+        adapter.addField(TypeName.BOOLEAN, FIELD_BINDING_DEFERRED, Modifier.PRIVATE);
+        adapter.addField(TypeName.BOOLEAN, fieldScheduled, Modifier.PRIVATE);
+
+        adapter.addField(FieldSpec.builder(ON_SCROLL_LISTENER, fieldScrollListener, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("$L", TypeSpec.anonymousClassBuilder("")
+                        .superclass(ON_SCROLL_LISTENER)
+                        .addMethod(MethodSpec.methodBuilder("onScrollStateChanged")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(RECYCLER_VIEW, argRecyclerView)
+                                .addParameter(TypeName.INT, argState)
+                                .addStatement("$L = $L", FIELD_SCROLL_STATE, argState)
+                                .beginControlFlow("if ($L == $T.SCROLL_STATE_IDLE)", argState, RECYCLER_VIEW)
+                                .addStatement("$L($T.MAX_VALUE)", METHOD_BIND_DEFERRED, Long.class)
+                                .endControlFlow()
+                                .build())
+                        .build())
+                .build());
+        adapter.addField(FieldSpec.builder(FRAME_CALLBACK, fieldFrameCallback, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("$L", TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(FRAME_CALLBACK)
+                        .addMethod(MethodSpec.methodBuilder("doFrame")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(TypeName.LONG, "frameTimeNanos")
+                                .addStatement("$L = false", fieldScheduled)
+                                .addStatement("$L(frameTimeNanos + $L)", METHOD_BIND_DEFERRED, DEFERRED_FRAME_BUDGET)
+                                .build())
+                        .build())
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder("onAttachedToRecyclerView")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(RECYCLER_VIEW, argRecyclerView)
+                .addStatement("super.onAttachedToRecyclerView($L)", argRecyclerView)
+                .addStatement("$L.addOnScrollListener($L)", argRecyclerView, fieldScrollListener)
+                .addStatement("$L = $L.getScrollState()", FIELD_SCROLL_STATE, argRecyclerView)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_DEFER_ROWS)
+                .addJavadoc("@return {@code $L} without the {@code $L} ones if they got postponed\n", argRows, argDeferred)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(parsingInfo.vhClassName, argViewHolder)
+                .addParameter(TypeName.INT, argRows)
+                .addParameter(TypeName.INT, argDeferred)
+                .returns(TypeName.INT)
+                .beginControlFlow("if ($L == $T.SCROLL_STATE_IDLE || $L || ($L & $L) == 0)",
+                        FIELD_SCROLL_STATE, RECYCLER_VIEW, FIELD_BINDING_DEFERRED, argRows, argDeferred)
+                .addStatement("return $L", argRows)
+                .endControlFlow()
+                .beginControlFlow("if ($L.$L == 0)", argViewHolder, VH_DEFERRED_ROWS)
+                .addStatement("$L.add($L)", FIELD_DEFERRED_HOLDERS, argViewHolder)
+                .endControlFlow()
+                .addStatement("$L.$L |= $L & $L", argViewHolder, VH_DEFERRED_ROWS, argRows, argDeferred)
+                .addStatement("$L()", METHOD_SCHEDULE_DEFERRED)
+                .addStatement("return $L & ~$L", argRows, argDeferred)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_SCHEDULE_DEFERRED)
+                .addModifiers(Modifier.PRIVATE)
+                .beginControlFlow("if (!$L)", fieldScheduled)
+                .addStatement("$L = true", fieldScheduled)
+                .addStatement("$T.getInstance().postFrameCallback($L)", CHOREOGRAPHER, fieldFrameCallback)
+                .endControlFlow()
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_BIND_DEFERRED)
+                .addJavadoc("Binds postponed rows in the order they were postponed until {@code $L} passes\n", argDeadline)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.LONG, argDeadline)
+                .addStatement("$L = true", FIELD_BINDING_DEFERRED)
+                .addStatement("int bound = 0")
+                .beginControlFlow("while (bound < $L.size() && $T.nanoTime() < $L)", FIELD_DEFERRED_HOLDERS, System.class, argDeadline)
+                .addStatement("$T $L = $L.get(bound++)", parsingInfo.vhClassName, argViewHolder, FIELD_DEFERRED_HOLDERS)
+                .addStatement("int $L = $L.$L", argRows, argViewHolder, VH_DEFERRED_ROWS)
+                .addStatement("$L.$L = 0", argViewHolder, VH_DEFERRED_ROWS)
+                .addComment("holders without a position are going to be rebound anyway")
+                .addStatement("int position = $L.getAdapterPosition()", argViewHolder)
+                .beginControlFlow("if (position != $T.NO_POSITION)", RECYCLER_VIEW)
+                .addStatement("$L($L, position, $L)", METHOD_BIND_ROWS, argViewHolder, argRows)
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("$L.subList(0, bound).clear()", FIELD_DEFERRED_HOLDERS)
+                .addStatement("$L = false", FIELD_BINDING_DEFERRED)
+                .beginControlFlow("if (!$L.isEmpty())", FIELD_DEFERRED_HOLDERS)
+                .addStatement("$L()", METHOD_SCHEDULE_DEFERRED)
+                .endControlFlow()
+                .build());
+    }
+
+    /**
+     * Releases ViewHolders created ahead for the RecyclerView the adapter is detached from, along with
+     * its deferred rows
+     */
+    private void implementDetach(TypeSpec.Builder adapter) {
+        final String argRecyclerView = "recyclerView";
+
+        MethodSpec.Builder onDetached = MethodSpec.methodBuilder("onDetachedFromRecyclerView")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(RECYCLER_VIEW, argRecyclerView)
+                .addStatement("$L.clear()", FIELD_PREWARMED);
+        if (parsingInfo.deferred) {
+            onDetached.addStatement("$L.removeOnScrollListener($L)", argRecyclerView, FIELD_DEFERRED_SCROLL_LISTENER)
+                    .addStatement("$L = $T.SCROLL_STATE_IDLE", FIELD_SCROLL_STATE, RECYCLER_VIEW)
+                    .beginControlFlow("for (int i = 0, n = $L.size(); i < n; i++)", FIELD_DEFERRED_HOLDERS)
+                    .addStatement("$L.get(i).$L = 0", FIELD_DEFERRED_HOLDERS, VH_DEFERRED_ROWS)
+                    .endControlFlow()
+                    .addStatement("$L.clear()", FIELD_DEFERRED_HOLDERS);
+        }
+        adapter.addMethod(onDetached
+                .addStatement("super.onDetachedFromRecyclerView($L)", argRecyclerView)
+                .build());
+    }
+
+    /**
+     * Generates {@code trimMemory}, dropping ViewHolders created ahead and, once the UI is hidden, pooled views
+     * of nested lists, and shrinking state shared by stateful plugins
+     */
+    private void implementTrimMemory(TypeSpec.Builder adapter) {
+        final String argLevel = "level";
+
+        MethodSpec.Builder trimMemory = MethodSpec.methodBuilder("trimMemory")
+                .addJavadoc("Releases memory held by the adapter, to be called from {@code onTrimMemory}\n")
+                .addJavadoc("\n")
+                .addJavadoc("@param $L one of the {@code ComponentCallbacks2.TRIM_MEMORY_*} levels\n", argLevel)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, argLevel)
+                .addStatement("$L.clear()", FIELD_PREWARMED);
+        if (!parsingInfo.nestedPools.isEmpty()) {
+            trimMemory.beginControlFlow("if ($L >= $T.TRIM_MEMORY_UI_HIDDEN)", argLevel, COMPONENT_CALLBACKS);
+            for (String pool : new TreeSet<>(parsingInfo.nestedPools)) {
+                trimMemory.addStatement("$L.clear()", pool);
+            }
+            trimMemory.addCode(clearNestedStates());
+            trimMemory.endControlFlow();
+        }
+        for (StatefulPlugin plugin : parsingInfo.statefulPlugins.values()) {
+            trimMemory.addCode(plugin.trimMemory(argLevel));
+        }
+        adapter.addMethod(trimMemory.build());
+    }
+
+    /**
+     * @return mask of the deferred rows of the view type or null if there are none
+     */
+    private CodeBlock deferredRows(ViewTypeInfo viewTypeInfo) {
+        StringBuilder rows = new StringBuilder();
+        for (RowInfo info : viewTypeInfo.rows.values()) {
+            if (!info.row.deferred())
+                continue;
+            if (rows.length() > 0)
+                rows.append(" | ");
+            rows.append(payloadRow(info.row.num()));
+        }
+        return rows.length() == 0 ? null : CodeBlock.of("$L", rows);
+    }
+
+    private String deferredRowsField(int viewType) {
+        return "DEFERRED_ROWS_" + viewType;
+    }
+
+    /**
+     * Releases what rows, their plugins and {@link Recycle} methods attached to views of ViewHolders being recycled
+     * or dropped, drops their deferred rows and memoized values and saves scroll state of their nested lists,
+     * so that it is not lost if their items get bound to other ViewHolders first
+     */
+    private void implementRecycling(TypeSpec.Builder adapter) {
+        final String argViewHolder = "vh";
+        final String varHolder = "holder";
+        final String argStates = "states";
+        final String argKey = "key";
+        final String argLayout = "layout";
+
+        MethodSpec.Builder onViewRecycled = MethodSpec.methodBuilder("onViewRecycled")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(parsingInfo.vhClassName, argViewHolder);
+
+        if (parsingInfo.deferred) {
+            onViewRecycled.beginControlFlow("if ($L.$L != 0)", argViewHolder, VH_DEFERRED_ROWS)
+                    .addStatement("$L.$L = 0", argViewHolder, VH_DEFERRED_ROWS)
+                    .addStatement("$L.remove($L)", FIELD_DEFERRED_HOLDERS, argViewHolder)
+                    .endControlFlow();
+        }
+
+        CodeBlock.Builder release = CodeBlock.builder()
+                .beginControlFlow("switch ($L.viewType)", argViewHolder);
+
+        boolean released = false;
+        boolean nested = false;
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            CodeBlock.Builder rows = CodeBlock.builder();
+            boolean releasing = false;
+            for (int i = 0; i < viewTypeInfo.rows.size(); ++i) {
+                RowInfo info = viewTypeInfo.rows.get(i);
+                for (int dataNum = 0; dataNum < info.row.dataId().length; dataNum++) {
+                    String view = String.format("%s.%s", varHolder, dataField(i, dataNum));
+                    boolean cleared = false;
+                    if (info.recycle != null) {
+                        cleared = true;
+                        rows.addStatement("$L.$L($L, $L)", viewTypeInfo.viewTypeAdapter.getSimpleName(), info.recycle,
+                                view, info.row.dataId()[dataNum]);
+                    }
+                    if (info.pluginInfo.plugin instanceof StatefulPlugin) {
+                        CodeBlock recycle = ((StatefulPlugin) info.pluginInfo.plugin).recycle(view);
+                        cleared |= !recycle.isEmpty();
+                        rows.add(recycle);
+                    }
+                    releasing |= cleared;
+                    // the view no longer displays the memoized value
+                    if (cleared && parsingInfo.adapt.memoize() && hasPluginValue(info)) {
+                        if (info.method.resultType.getKind().isPrimitive())
+                            rows.addStatement("$L.$L = false", varHolder, memoizedField(i, dataNum));
+                        else
+                            rows.addStatement("$L.$L = null", varHolder, lastValueField(i, dataNum));
+                    }
+                    if (info.nested != null) {
+                        releasing = true;
+                        nested = true;
+                        rows.addStatement("$L($L, $L, $L)", METHOD_SAVE_NESTED_STATE,
+                                nestedStatesField(viewTypeInfo.viewType, i, dataNum), view + NESTED_KEY, view + NESTED_LAYOUT);
+                        rows.addStatement("$L = null", view + NESTED_KEY);
+                    }
+                }
+            }
+            if (!releasing)
+                continue;
+            released = true;
+            ClassName vhClass = parsingInfo.vhClassName.peerClass(parsingInfo.vhClassName.simpleName() + viewTypeInfo.viewType);
+            release.beginControlFlow("case $L:", viewTypeInfo.viewType)
+                    .addStatement("$T $L = ($T) $L", vhClass, varHolder, vhClass, argViewHolder)
+                    .add(rows.build())
+                    .addStatement("break")
+                    .endControlFlow();
+        }
+        if (released)
+            onViewRecycled.addCode(release.endControlFlow().build());
+        if (released || parsingInfo.deferred) {
+            adapter.addMethod(onViewRecycled
+                    .addStatement("super.onViewRecycled($L)", argViewHolder)
+                    .build());
+            // views with transient state are dropped instead of being recycled
+            adapter.addMethod(MethodSpec.methodBuilder("onFailedToRecycleView")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(parsingInfo.vhClassName, argViewHolder)
+                    .returns(TypeName.BOOLEAN)
+                    .addStatement("onViewRecycled($L)", argViewHolder)
+                    .addStatement("return super.onFailedToRecycleView($L)", argViewHolder)
+                    .build());
+        }
+        if (!nested)
+            return;
+
+        adapter.addField(FieldSpec.builder(TypeName.INT, MAX_NESTED_STATES, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", NESTED_STATES_CAPACITY)
+                .build());
+        // access ordered, so that the states of items displayed least recently are dropped first
+        adapter.addType(TypeSpec.classBuilder(NESTED_STATES)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(LinkedHashMap.class), ClassName.get(Object.class), PARCELABLE))
+                .addField(FieldSpec.builder(TypeName.LONG, "serialVersionUID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("1L")
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super(16, 0.75f, true)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("removeEldestEntry")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PROTECTED)
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Map.Entry.class), ClassName.get(Object.class), PARCELABLE), "eldest")
+                        .returns(TypeName.BOOLEAN)
+                        .addStatement("return size() > $L", MAX_NESTED_STATES)
+                        .build())
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_SAVE_NESTED_STATE)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(Object.class), PARCELABLE), argStates)
+                .addParameter(Object.class, argKey)
+                .addParameter(LINEAR_LAYOUT_MANAGER, argLayout)
+                .beginControlFlow("if ($L != null)", argKey)
+                .addStatement("$L.put($L, $L.onSaveInstanceState())", argStates, argKey, argLayout)
+                .endControlFlow()
+                .build());
+    }
+
+    private String nestedStatesField(int viewType, int row, int num) {
+        return "nestedStates" + viewType + "_" + row + "x" + num;
+    }
+
+    /**
+     * @return statements dropping saved scroll states of all nested lists
+     */
+    private CodeBlock clearNestedStates() {
+        CodeBlock.Builder block = CodeBlock.builder();
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            for (int i = 0; i < viewTypeInfo.rows.size(); ++i) {
+                RowInfo info = viewTypeInfo.rows.get(i);
+                if (info.nested == null)
+                    continue;
+                for (int dataNum = 0; dataNum < info.row.dataId().length; dataNum++)
+                    block.addStatement("$L.clear()", nestedStatesField(viewTypeInfo.viewType, i, dataNum));
+            }
+        }
+        return block.build();
+    }
+
+    /**
+     * Rebinds only the rows whose {@code PAYLOAD_ROW_n} bits are set in the payloads.
+     * Falls back to a full bind when there are no payloads or any of them is not a row bitmask.
+     */
+    private MethodSpec onBindViewHolderPayloadsImpl() {
+        final String argViewHolder = "vh";
+        final String argPosition = "position";
+        final String argPayloads = "payloads";
+        final String varRows = "rows";
+        final String varPayload = "payload";
+
+        return MethodSpec.methodBuilder("onBindViewHolder")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(parsingInfo.vhClassName, argViewHolder)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(ParameterizedTypeName.get(List.class, Object.class), argPayloads)
+                .addStatement("int $L = $L.isEmpty() ? $L : 0", varRows, argPayloads, PAYLOAD_ALL_ROWS)
+                .beginControlFlow("for (int i = 0, n = $L.size(); i < n; i++)", argPayloads)
+                .addStatement("$T $L = $L.get(i)", Object.class, varPayload, argPayloads)
+                .beginControlFlow("if (!($L instanceof $T))", varPayload, Integer.class)
+                .addStatement("$L = $L", varRows, PAYLOAD_ALL_ROWS)
+                .addStatement("break")
+                .endControlFlow()
+                .addStatement("$L |= ($T) $L", varRows, Integer.class, varPayload)
+                .endControlFlow()
+                .addStatement("$L($L, $L, $L)", METHOD_BIND_ROWS, argViewHolder, argPosition, varRows)
+                .build();
+    }
+
+    private MethodSpec notifyRowsChangedImpl() {
+        final String argPosition = "position";
+        final String argRows = "rows";
+
+        return MethodSpec.methodBuilder("notifyRowsChanged")
+                .addJavadoc("Rebinds only the rows of item at {@code $L} whose {@code PAYLOAD_ROW_n} bits are set in {@code $L}\n", argPosition, argRows)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, argPosition)
+                .addParameter(TypeName.INT, argRows)
+                .addStatement("notifyItemChanged($L, $L)", argPosition, argRows)
+                .build();
+    }
+
     private MethodSpec.Builder onCreateViewHolderImpl(TypeSpec.Builder adapter) {
         final String argContainer = "container";
         final String argViewType = "viewType";
+        final String varHolder = "holder";
 
-        final String varInflater = "inflater";
-        final String varContainer = "layout";
-        final String varContainerViewGroup = "layoutVG";
+        adapter.addField(LAYOUT_INFLATER, FIELD_INFLATER, Modifier.PRIVATE);
 
-        MethodSpec.Builder onCreateViewHolder = MethodSpec.methodBuilder(METHOD_ONCREATE_VIEWHOLDER)
+        adapter.addMethod(createViewHolderImpl());
+        implementPrewarm(adapter);
+
+        return MethodSpec.methodBuilder(METHOD_ONCREATE_VIEWHOLDER)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(parsingInfo.vhClassName)
                 .addAnnotation(Override.class)
                 .addParameter(VIEW_GROUP, argContainer)
-                .addParameter(TypeName.INT, argViewType);
+                .addParameter(TypeName.INT, argViewType)
+                .addStatement("$T $L = $L($L)", parsingInfo.vhClassName, varHolder, METHOD_TAKE_PREWARMED, argViewType)
+                .beginControlFlow("if ($L != null)", varHolder)
+                .addStatement("return $L", varHolder)
+                .endControlFlow()
+                .beginControlFlow("if ($L == null || $L.getContext() != $L.getContext())", FIELD_INFLATER, FIELD_INFLATER, argContainer)
+                .addStatement("$L = $T.from($L.getContext())", FIELD_INFLATER, LAYOUT_INFLATER, argContainer)
+                .endControlFlow()
+                .addCode(createViewHolderStatement(argContainer, argViewType, varHolder));
+    }
+
+    private CodeBlock createViewHolderStatement(String argContainer, String argViewType, String varHolder) {
+        if (!parsingInfo.adapt.metrics())
+            return CodeBlock.of("return $L($L, $L, $L);\n", METHOD_CREATE_VIEWHOLDER, FIELD_INFLATER, argContainer, argViewType);
+
+        return CodeBlock.builder()
+                .addStatement("long start = $T.nanoTime()", System.class)
+                .addStatement("$L = $L($L, $L, $L)", varHolder, METHOD_CREATE_VIEWHOLDER, FIELD_INFLATER, argContainer, argViewType)
+                .addStatement("int index = $L($L)", METHOD_METRICS_INDEX, argViewType)
+                .beginControlFlow("if (index >= 0)")
+                .addStatement("$L($L, $L, $L, index, $T.nanoTime() - start)", METHOD_RECORD_METRIC,
+                        FIELD_CREATE_COUNTS, FIELD_CREATE_NANOS, FIELD_CREATE_MAX_NANOS, System.class)
+                .endControlFlow()
+                .addStatement("return $L", varHolder)
+                .build();
+    }
+
+    /**
+     * Creates ViewHolders of the given view type, inflating the container layout along with the row layouts.
+     * Does not touch adapter's state, so that it can be called off the main thread.
+     */
+    private MethodSpec createViewHolderImpl() {
+        final String argInflater = "inflater";
+        final String argContainer = "container";
+        final String argViewType = "viewType";
+
+        final String varInflater = argInflater;
+        final String varContainer = "layout";
+        final String varContainerViewGroup = "layoutVG";
+
+        MethodSpec.Builder onCreateViewHolder = MethodSpec.methodBuilder(METHOD_CREATE_VIEWHOLDER)
+                .addModifiers(Modifier.PRIVATE)
+                .returns(parsingInfo.vhClassName)
+                .addParameter(LAYOUT_INFLATER, argInflater)
+                .addParameter(VIEW_GROUP, argContainer)
+                .addParameter(TypeName.INT, argViewType)
+                .beginControlFlow("switch ($L)", argViewType);
 
         for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
             Integer viewType = viewTypeInfo.viewType;
 
-            onCreateViewHolder.beginControlFlow("if ($L == $L)", argViewType, viewType);
+            onCreateViewHolder.beginControlFlow("case $L:", viewType);
 
-            onCreateViewHolder.addStatement("$T $L = $L.from($L.getContext())", LAYOUT_INFLATER, varInflater, LAYOUT_INFLATER, argContainer);
             onCreateViewHolder.addStatement(
                     "$T $L = ($T) $L.inflate($L, $L, false)",
                     VIEW_GROUP, varContainer, VIEW_GROUP, varInflater, parsingInfo.adapt.layout(), argContainer);
@@ -386,18 +2604,111 @@ public class AdapterProcessor extends AbstractProcessor {
             onCreateViewHolder.endControlFlow();
         }
 
-        if (!parsingInfo.abstractCreateViewHolder) {
-            onCreateViewHolder
-                    .beginControlFlow("else")
-                    .addStatement("return super.$L($L, $L)", METHOD_ONCREATE_VIEWHOLDER, argContainer, argViewType)
+        if (parsingInfo.paged != null) {
+            int placeholderLayout = parsingInfo.paged.placeholderLayout() != Row.LAYOUT_NONE
+                    ? parsingInfo.paged.placeholderLayout()
+                    : parsingInfo.adapt.layout();
+            onCreateViewHolder.beginControlFlow("case $L:", VIEW_TYPE_PLACEHOLDER)
+                    .addStatement("$T $L = ($T) $L.inflate($L, $L, false)",
+                            VIEW_GROUP, varContainer, VIEW_GROUP, varInflater, placeholderLayout, argContainer)
+                    .addStatement("return new $T($L, $L)", parsingInfo.vhClassName.peerClass(VH_PLACEHOLDER), argViewType, varContainer)
                     .endControlFlow();
+        }
+
+        onCreateViewHolder.beginControlFlow("default:");
+        if (!parsingInfo.abstractCreateViewHolder) {
+            onCreateViewHolder.addStatement("return super.$L($L, $L)", METHOD_ONCREATE_VIEWHOLDER, argContainer, argViewType);
         } else {
             onCreateViewHolder.addStatement("throw new $T($L)", IllegalArgumentException.class, "String.format(\"Unsupported viewType %d\", " + argViewType + ")");
         }
-        return onCreateViewHolder;
+        onCreateViewHolder
+                .endControlFlow()
+                .endControlFlow();
+        return onCreateViewHolder.build();
+    }
+
+    /**
+     * Generates {@code prewarm}, which creates ViewHolders on a background thread ahead of time.
+     * They are kept by the adapter and handed out by {@code onCreateViewHolder} before inflating new ones.
+     */
+    private void implementPrewarm(TypeSpec.Builder adapter) {
+        final String argParent = "parent";
+        final String argCounts = "counts";
+        final String argViewType = "viewType";
+        final String varViewTypes = "viewTypes";
+        final String varAmounts = "amounts";
+        final String varInflater = "inflater";
+        final String varHolders = "holders";
+        final TypeName holderList = ParameterizedTypeName.get(ClassName.get(List.class), parsingInfo.vhClassName);
+
+        adapter.addField(FieldSpec.builder(Executor.class, PREWARM_EXECUTOR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.newSingleThreadExecutor()", Executors.class)
+                .build());
+        adapter.addField(FieldSpec.builder(holderList, FIELD_PREWARMED, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T<>()", ArrayList.class)
+                .build());
+
+        TypeSpec deliver = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("$L.addAll($L)", FIELD_PREWARMED, varHolders)
+                        .build())
+                .build();
+
+        TypeSpec inflate = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("final $T $L = new $T<>()", holderList, varHolders, ArrayList.class)
+                        .beginControlFlow("for (int i = 0; i < $L.length; i++)", varViewTypes)
+                        .beginControlFlow("for (int j = 0; j < $L[i]; j++)", varAmounts)
+                        .addStatement("$L.add($L($L, $L, $L[i]))", varHolders, METHOD_CREATE_VIEWHOLDER, varInflater, argParent, varViewTypes)
+                        .endControlFlow()
+                        .endControlFlow()
+                        .addStatement("$L.post($L)", argParent, deliver)
+                        .build())
+                .build();
+
+        adapter.addMethod(MethodSpec.methodBuilder("prewarm")
+                .addJavadoc("Creates {@code $L} ViewHolders of every view type on a background thread, to be used\n", argCounts)
+                .addJavadoc("by {@link #$L} instead of inflating them when the list is first displayed.\n\n", METHOD_ONCREATE_VIEWHOLDER)
+                .addJavadoc("@param $L the {@code RecyclerView} the ViewHolders will be displayed in\n", argParent)
+                .addJavadoc("@param $L number of ViewHolders to create, keyed by view type\n", argCounts)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(VIEW_GROUP, argParent, Modifier.FINAL)
+                .addParameter(ParameterizedTypeName.get(Map.class, Integer.class, Integer.class), argCounts)
+                .addStatement("final int[] $L = new int[$L.size()]", varViewTypes, argCounts)
+                .addStatement("final int[] $L = new int[$L.size()]", varAmounts, argCounts)
+                .addStatement("int index = 0")
+                .beginControlFlow("for ($T<$T, $T> entry : $L.entrySet())", Map.Entry.class, Integer.class, Integer.class, argCounts)
+                .addStatement("$L[index] = entry.getKey()", varViewTypes)
+                .addStatement("$L[index++] = entry.getValue()", varAmounts)
+                .endControlFlow()
+                .addComment("LayoutInflater is not thread-safe, use a separate instance")
+                .addStatement("final $T $L = $T.from($L.getContext()).cloneInContext($L.getContext())",
+                        LAYOUT_INFLATER, varInflater, LAYOUT_INFLATER, argParent, argParent)
+                .addStatement("$L.execute($L)", PREWARM_EXECUTOR, inflate)
+                .build());
+
+        adapter.addMethod(MethodSpec.methodBuilder(METHOD_TAKE_PREWARMED)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, argViewType)
+                .returns(parsingInfo.vhClassName)
+                .beginControlFlow("for (int i = $L.size() - 1; i >= 0; i--)", FIELD_PREWARMED)
+                .beginControlFlow("if ($L.get(i).viewType == $L)", FIELD_PREWARMED, argViewType)
+                .addStatement("return $L.remove(i)", FIELD_PREWARMED)
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return null")
+                .build());
     }
 
     private void emit(PackageElement pkg, TypeSpec adapter) {
+        // always written through the Filer, which incremental processing requires, so build caches
+        // rely on the output being byte-identical rather than on skipping the write
         try {
             JavaFile.builder(pkg.getQualifiedName().toString(), adapter)
                     .build()
@@ -440,11 +2751,40 @@ public class AdapterProcessor extends AbstractProcessor {
                 .addStatement("this.$L = $L", viewType, argViewType)
                 .addStatement("$L = $L", root, argContainer);
 
+        if (parsingInfo.deferred) {
+            baseHolder.addField(FieldSpec.builder(TypeName.INT, VH_DEFERRED_ROWS)
+                    .addJavadoc("Rows postponed until scrolling stops\n")
+                    .build());
+        }
+        if (parsingInfo.columns != null) {
+            baseHolder.addField(FieldSpec.builder(accessorClass(), VH_ITEM, Modifier.PUBLIC, Modifier.FINAL)
+                    .initializer("new $T()", accessorClass())
+                    .build());
+        } else if (parsingInfo.sourced != null) {
+            // reused when decoding the next bound item
+            baseHolder.addField(TypeName.get(getItemType()), VH_ITEM, Modifier.PUBLIC);
+        }
+
         baseHolder.addMethod(baseCtor.build());
+        baseHolder.addMethod(findViewsImpl());
 
         adapter.addType(baseHolder.build());
 
+        if (parsingInfo.paged != null) {
+            adapter.addType(TypeSpec.classBuilder(VH_PLACEHOLDER)
+                    .addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+                    .superclass(parsingInfo.vhClassName)
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addParameter(TypeName.INT, argViewType)
+                            .addParameter(VIEW_GROUP, argContainer)
+                            .addStatement("super($L, $L)", argViewType, argContainer)
+                            .build())
+                    .build());
+        }
+
         final String base = parsingInfo.pkg.toString() + "." + parsingInfo.adapterName;
+        // helper fields and methods of stateful plugins are added once per plugin
+        final Map<String, StatefulPlugin> statefulPlugins = parsingInfo.statefulPlugins;
 
         for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
 
@@ -457,9 +2797,40 @@ public class AdapterProcessor extends AbstractProcessor {
                     .addParameter(VIEW_GROUP, argContainer)
                     .addStatement("super($L, $L)", argViewType, argContainer);
 
+            // views of rows without a layout are looked up in the container, the others in their own layouts
+            Map<String, List<Integer>> lookups = new LinkedHashMap<>();
+            for (int i = 0; i < viewTypeInfo.rows.size(); ++i) {
+                RowInfo info = viewTypeInfo.rows.get(i);
+                String source = info.row.layout() == Row.LAYOUT_NONE ? argContainer : "view" + i;
+                Set<Integer> ids = new TreeSet<>();
+                if (lookups.containsKey(source))
+                    ids.addAll(lookups.get(source));
+                if (info.label != null)
+                    ids.add(info.label.id());
+                for (int dataId : info.row.dataId())
+                    ids.add(dataId);
+                lookups.put(source, new ArrayList<>(ids));
+            }
+            for (Map.Entry<String, List<Integer>> lookup : lookups.entrySet()) {
+                List<Integer> ids = lookup.getValue();
+                // a single view is found just as fast by findViewById
+                if (ids.size() < 2)
+                    continue;
+                String idsField = viewIdsField(lookup.getKey());
+                CodeBlock.Builder idsArray = CodeBlock.builder().add("{");
+                for (int k = 0; k < ids.size(); k++)
+                    idsArray.add("$L$L", k > 0 ? ", " : "", ids.get(k));
+                holder.addField(FieldSpec.builder(int[].class, idsField, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(idsArray.add("}").build())
+                        .build());
+                ctor.addStatement("$T[] $L = new $T[$L.length]", VIEW, viewsVar(lookup.getKey()), VIEW, idsField)
+                        .addStatement("$L($L, $L, $L, $L.length)", METHOD_FIND_VIEWS, lookup.getKey(), idsField, viewsVar(lookup.getKey()), idsField);
+            }
+
             for (int i = 0; i < viewTypeInfo.rows.size(); ++i) {
                 RowInfo info = viewTypeInfo.rows.get(i);
                 final String iView = "view" + i;
+                final String iSource = info.row.layout() == Row.LAYOUT_NONE ? argContainer : iView;
                 ctor.addParameter(VIEW, iView);
                 final String iLabel = "label" + i;
                 final String iData = dataField(i);
@@ -481,19 +2852,91 @@ public class AdapterProcessor extends AbstractProcessor {
                         holder.addField(TEXT_VIEW, iLabel);
                         ctor.addCode(
                                 CodeBlock.builder()
-                                        .addStatement("$L = ($T) $L.findViewById($L)", iLabel, TEXT_VIEW, iView, info.label.id())
+                                        .addStatement("$L = ($T) $L", iLabel, TEXT_VIEW, viewLookup(lookups, iSource, info.label.id()))
                                         .beginControlFlow("if ($L != null)", iLabel)
                                         .addStatement("$L.setText($S)", iLabel, info.label.value())
                                         .endControlFlow()
                                         .build()
                         );
                     }
-                    ctor.addStatement("$L = ($T) $L.findViewById($L)", ijData, paramType, iView, dataId);
+                    ctor.addStatement("$L = ($T) $L", ijData, paramType, viewLookup(lookups, iSource, dataId));
+                    if (info.nested != null) {
+                        holder.addField(info.nested.adapter, ijData + NESTED_ADAPTER);
+                        holder.addField(LINEAR_LAYOUT_MANAGER, ijData + NESTED_LAYOUT);
+                        holder.addField(TypeName.get(info.method.resultType), ijData + NESTED_ITEMS);
+                        holder.addField(Object.class, ijData + NESTED_KEY);
+                    }
+                    if (info.pluginInfo.plugin instanceof StatefulPlugin) {
+                        StatefulPlugin plugin = (StatefulPlugin) info.pluginInfo.plugin;
+                        holder.addFields(plugin.viewHolderFields(ijData));
+                        statefulPlugins.put(plugin.getClass().getCanonicalName(), plugin);
+                    }
+
+                    if (parsingInfo.adapt.memoize() && hasPluginValue(info)) {
+                        holder.addField(TypeName.get(info.method.resultType), lastValueField(i, dataNum));
+                        // primitives have no null to mark a missing value
+                        if (info.method.resultType.getKind().isPrimitive())
+                            holder.addField(TypeName.BOOLEAN, memoizedField(i, dataNum));
+                    }
                 }
             }
             holder.addMethod(ctor.build());
             adapter.addType(holder.build());
         }
+        for (StatefulPlugin plugin : statefulPlugins.values()) {
+            adapter.addFields(plugin.adapterFields());
+            adapter.addMethods(plugin.adapterMethods());
+        }
+    }
+
+    /**
+     * Generates a single traversal of the view hierarchy looking up all views of a ViewHolder at once,
+     * instead of traversing it with {@code findViewById} for every id
+     */
+    private MethodSpec findViewsImpl() {
+        final String argView = "view";
+        final String argIds = "ids";
+        final String argViews = "views";
+        final String argRemaining = "remaining";
+
+        return MethodSpec.methodBuilder(METHOD_FIND_VIEWS)
+                .addJavadoc("Stores views with ids from sorted {@code $L} in {@code $L}, keeping the first match in the\n", argIds, argViews)
+                .addJavadoc("order {@code findViewById} uses.\n\n")
+                .addJavadoc("@return number of views still not found\n")
+                .addModifiers(Modifier.STATIC)
+                .addParameter(VIEW, argView)
+                .addParameter(int[].class, argIds)
+                .addParameter(ArrayTypeName.of(VIEW), argViews)
+                .addParameter(TypeName.INT, argRemaining)
+                .returns(TypeName.INT)
+                .addStatement("int index = $T.binarySearch($L, $L.getId())", Arrays.class, argIds, argView)
+                .beginControlFlow("if (index >= 0 && $L[index] == null)", argViews)
+                .addStatement("$L[index] = $L", argViews, argView)
+                .addStatement("$L--", argRemaining)
+                .endControlFlow()
+                .beginControlFlow("if ($L instanceof $T)", argView, VIEW_GROUP)
+                .addStatement("$T group = ($T) $L", VIEW_GROUP, VIEW_GROUP, argView)
+                .beginControlFlow("for (int i = 0, n = group.getChildCount(); i < n && $L > 0; i++)", argRemaining)
+                .addStatement("$L = $L(group.getChildAt(i), $L, $L, $L)", argRemaining, METHOD_FIND_VIEWS, argIds, argViews, argRemaining)
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return $L", argRemaining)
+                .build();
+    }
+
+    private CodeBlock viewLookup(Map<String, List<Integer>> lookups, String source, int id) {
+        List<Integer> ids = lookups.get(source);
+        if (ids.size() < 2)
+            return CodeBlock.of("$L.findViewById($L)", source, id);
+        return CodeBlock.of("$L[$L]", viewsVar(source), ids.indexOf(id));
+    }
+
+    private String viewIdsField(String source) {
+        return "VIEW_IDS_" + source.toUpperCase(Locale.US);
+    }
+
+    private String viewsVar(String source) {
+        return source + "Views";
     }
 
     private void parseRow(TypeElement viewTypeAdapter, ExecutableElement elem, int viewType) {
@@ -505,11 +2948,13 @@ public class AdapterProcessor extends AbstractProcessor {
         if (elem.getModifiers().contains(Modifier.STATIC))
             throw new IllegalArgumentException("@Row annotated method must not be static");
 
-        String typeName = elem.getParameters().get(0).asType().toString();
+        NestedList nestedList = elem.getAnnotation(NestedList.class);
 
         PluginInfo pluginInfo;
-        if (overridePlugin == null)
-            pluginInfo = getPluginForWidget(typeName);
+        if (nestedList != null)
+            pluginInfo = new PluginInfo(NestedListPlugin.class.getCanonicalName(), new NestedListPlugin());
+        else if (overridePlugin == null)
+            pluginInfo = getPluginForWidget(elem.getParameters().get(0).asType(), elem.getReturnType());
         else
             pluginInfo = new PluginInfo(IgnorePlugin.class.getCanonicalName(), new IgnorePlugin());
 
@@ -520,51 +2965,235 @@ public class AdapterProcessor extends AbstractProcessor {
             viewTypeInfo = new ViewTypeInfo(viewType, viewTypeAdapter);
             parsingInfo.adapterInfo.put(viewType, viewTypeInfo);
         }
-        viewTypeInfo.rows.put(row.num(), new RowInfo(row, label, overridePlugin, methodInfo, pluginInfo));
+        if (row.deferred()) {
+            if (row.num() >= Integer.SIZE)
+                throw new IllegalArgumentException(String.format("Deferred row %s must have num lower than %d", method, Integer.SIZE));
+            parsingInfo.deferred = true;
+        }
+
+        RowInfo rowInfo = new RowInfo(row, label, overridePlugin, methodInfo, pluginInfo);
+        if (nestedList != null)
+            rowInfo.nested = parseNestedList(nestedList, method);
+        viewTypeInfo.rows.put(row.num(), rowInfo);
     }
 
-    // TODO: this may prove useful once a plugin system gets implemented
-    private PluginInfo getPluginForWidget(String clazz) {
-        Plugin plugin = getPlugin(clazz);
+    private void parseRecycle(ExecutableElement elem, int viewType) {
+        Recycle recycle = elem.getAnnotation(Recycle.class);
+        final String method = elem.getSimpleName().toString();
+
+        if (elem.getParameters().size() != 2 || elem.getParameters().get(1).asType().getKind() != TypeKind.INT)
+            throw new IllegalArgumentException(String.format("Invalid @Recycle signature of %s. Expecting 2 arguments (view, id)", method));
+        if (elem.getModifiers().contains(Modifier.STATIC))
+            throw new IllegalArgumentException("@Recycle annotated method must not be static");
+
+        ViewTypeInfo viewTypeInfo = parsingInfo.adapterInfo.get(viewType);
+        RowInfo row = viewTypeInfo != null ? viewTypeInfo.rows.get(recycle.num()) : null;
+        if (row == null)
+            throw new IllegalArgumentException(String.format("@Recycle method %s has no matching @Row with num = %d", method, recycle.num()));
+        if (row.recycle != null)
+            throw new IllegalArgumentException(String.format("Row %d has multiple @Recycle methods", recycle.num()));
+        row.recycle = method;
+    }
 
-        // no plugins available - use built-in TextView plugin
-        if (plugin == null && clazz.equals(TextViewPlugin.TEXT_VIEW)) {
-            plugin = new TextViewPlugin();
+    private NestedInfo parseNestedList(NestedList nestedList, String method) {
+        TypeMirror adapterType;
+        try {
+            nestedList.adapter();
+            throw new IllegalStateException("Unable to resolve @NestedList adapter");
+        } catch (MirroredTypeException e) {
+            adapterType = e.getTypeMirror();
+        }
+        TypeElement adapter = (TypeElement) typeUtils.asElement(adapterType);
+        if (adapter.getAnnotation(Adapt.class) == null)
+            throw new IllegalArgumentException(String.format("@NestedList adapter of %s must be annotated with @Adapt", method));
+        if (adapter.getAnnotation(Paged.class) != null)
+            throw new IllegalArgumentException(String.format("@NestedList adapter of %s must not be @Paged", method));
+
+        // nested adapter is generated with either its @Data setter or the default one
+        String setter = "setData";
+        for (Element member : adapter.getEnclosedElements()) {
+            if (member.getAnnotation(Data.class) != null)
+                setter = member.getSimpleName().toString();
         }
+        ClassName impl = ClassName.get(elementUtils.getPackageOf(adapter).getQualifiedName().toString(), adapter.getSimpleName() + "Impl");
+        return new NestedInfo(impl, setter, nestedList.initialPrefetch());
+    }
+
+    private PluginInfo getPluginForWidget(TypeMirror widget, TypeMirror resultType) {
+        Plugin plugin = getPlugin(widget);
         if (plugin == null) {
-            throw new IllegalArgumentException(String.format("No plugin has been registered for handling %s", clazz));
+            throw new IllegalArgumentException(String.format("No plugin has been registered for handling %s", widget));
+        }
+
+        // numbers are handled by the allocation-free flavour of the built-in TextView plugin
+        if (plugin instanceof TextViewPlugin) {
+            switch (resultType.getKind()) {
+                case INT:
+                case LONG:
+                case DOUBLE:
+                    plugin = numberTextViewPlugin;
+                    break;
+            }
         }
-        messager.printMessage(Diagnostic.Kind.OTHER, "Using " + plugin + " for " + clazz);
         return new PluginInfo(plugin.getClass().getSimpleName(), plugin);
     }
 
-    private Plugin getPluginNamed(String pluginName) {
-        Plugin plugin = plugins.get(pluginName);
-        if (plugin == null) {
-            throw new IllegalArgumentException(String.format("Plugin %s has not been registered", pluginName));
+    /**
+     * Loads plugins available on the processor path and registers them along with the built-in ones,
+     * plugins loaded first take precedence
+     */
+    private void loadPlugins() {
+        plugins = new HashMap<>();
+        resolvedPlugins = new HashMap<>();
+        numberTextViewPlugin = new NumberTextViewPlugin();
+
+        try {
+            for (Plugin plugin : ServiceLoader.load(Plugin.class, AdapterProcessor.class.getClassLoader()))
+                registerPlugin(plugin);
+        } catch (ServiceConfigurationError e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to load plugins: " + e.getMessage());
         }
-        return plugin;
+        registerPlugin(new TextViewPlugin());
+        registerPlugin(new ImageViewPlugin());
+    }
+
+    private void registerPlugin(Plugin plugin) {
+        if (!plugins.containsKey(plugin.forElement()))
+            plugins.put(plugin.forElement(), plugin);
     }
 
     /**
-     * Returns first plugin registered for handling {@code clazz}
+     * Returns plugin registered for handling {@code widget} or its closest superclass
      *
-     * @param clazz class of Android widget the {@code Plugin} should handle
+     * @param widget type of Android widget the {@code Plugin} should handle
      * @return {@code Plugin} instance if appropriate {@code Plugin} has been registered or null
      */
-    private Plugin getPlugin(String clazz) {
-        for (Map.Entry<String, Plugin> pluginEntry : plugins.entrySet()) {
-            messager.printMessage(Diagnostic.Kind.MANDATORY_WARNING, "reading " + pluginEntry.getValue().forElement());
-            if (clazz.equals(pluginEntry.getValue().forElement()))
-                return pluginEntry.getValue();
+    private Plugin getPlugin(TypeMirror widget) {
+        String clazz = typeUtils.erasure(widget).toString();
+        if (resolvedPlugins.containsKey(clazz))
+            return resolvedPlugins.get(clazz);
+
+        Plugin plugin = plugins.get(clazz);
+        if (plugin == null && widget.getKind() == TypeKind.DECLARED) {
+            TypeMirror superclass = ((TypeElement) typeUtils.asElement(widget)).getSuperclass();
+            if (superclass.getKind() == TypeKind.DECLARED)
+                plugin = getPlugin(superclass);
         }
-        return null;
+        resolvedPlugins.put(clazz, plugin);
+        return plugin;
     }
 
     private void parseData(ExecutableElement elem) {
         parsingInfo.dataInfo = new DataInfo(elem, elem.getAnnotation(Data.class));
     }
 
+    private void parseItemId() {
+        TypeElement itemType = (TypeElement) typeUtils.asElement(getItemType());
+        for (Element member : elementUtils.getAllMembers(itemType)) {
+            if (member.getAnnotation(ItemId.class) == null)
+                continue;
+
+            ExecutableElement accessor = (ExecutableElement) member;
+            TypeMirror keyType = accessor.getReturnType();
+            boolean string = keyType.toString().equals(String.class.getCanonicalName());
+            if (!accessor.getParameters().isEmpty()
+                    || (keyType.getKind() != TypeKind.LONG && keyType.getKind() != TypeKind.INT && !string)) {
+                throw new IllegalArgumentException("Invalid @ItemId signature. Expecting parameterless method returning long, int or String");
+            }
+            parsingInfo.itemIdInfo = new ItemIdInfo(accessor.getSimpleName().toString(), string);
+        }
+    }
+
+    private void parseColumns() {
+        Data data = parsingInfo.dataInfo.data;
+        if (data == null || !data.columnar())
+            return;
+
+        if (data.diff())
+            throw new IllegalArgumentException("@Data(columnar = true) cannot be used together with diff");
+        if (parsingInfo.adapt.memoize())
+            throw new IllegalArgumentException("@Data(columnar = true) cannot be used together with @Adapt(memoize = true)");
+        if (parsingInfo.resolveViewTypes)
+            throw new IllegalArgumentException("@Data(columnar = true) cannot be used to resolve view types, override getItemViewType instead");
+        if (parsingInfo.precomputeStride > 0)
+            throw new IllegalArgumentException("@Data(columnar = true) cannot be used together with @Row(precompute = true)");
+
+        List<ColumnInfo> columns = new ArrayList<>();
+        boolean itemIdColumn = false;
+        TypeElement itemType = (TypeElement) typeUtils.asElement(getItemType());
+        for (Element member : elementUtils.getAllMembers(itemType)) {
+            if (member.getAnnotation(Column.class) == null)
+                continue;
+
+            ExecutableElement accessor = (ExecutableElement) member;
+            TypeMirror type = accessor.getReturnType();
+            boolean string = type.toString().equals(String.class.getCanonicalName());
+            if (!accessor.getParameters().isEmpty() || (type.getKind() != TypeKind.INT
+                    && type.getKind() != TypeKind.LONG && type.getKind() != TypeKind.DOUBLE && !string)) {
+                throw new IllegalArgumentException("Invalid @Column signature. Expecting parameterless method returning int, long, double or String");
+            }
+            String method = accessor.getSimpleName().toString();
+            if (parsingInfo.itemIdInfo != null && parsingInfo.itemIdInfo.method.equals(method))
+                itemIdColumn = true;
+            columns.add(new ColumnInfo(method, TypeName.get(type), string));
+        }
+        // member order differs between items read from sources and from class files
+        Collections.sort(columns, new Comparator<ColumnInfo>() {
+            @Override
+            public int compare(ColumnInfo a, ColumnInfo b) {
+                return a.method.compareTo(b.method);
+            }
+        });
+        if (columns.isEmpty())
+            throw new IllegalArgumentException("@Data(columnar = true) requires @Column annotated accessors in " + itemType);
+        if (parsingInfo.itemIdInfo != null && !itemIdColumn)
+            throw new IllegalArgumentException("@ItemId accessor has to be annotated with @Column when using columnar data");
+
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            for (RowInfo info : viewTypeInfo.rows.values()) {
+                // nested list states are keyed by item, which are not retained
+                if (info.nested != null && parsingInfo.itemIdInfo == null)
+                    throw new IllegalArgumentException("@NestedList rows require an @ItemId when using columnar data");
+            }
+        }
+        parsingInfo.columns = columns;
+    }
+
+    private void checkSourced() {
+        if (parsingInfo.sourced == null)
+            return;
+
+        if (parsingInfo.adapt.memoize())
+            throw new IllegalArgumentException("@Sourced cannot be used together with @Adapt(memoize = true)");
+        if (parsingInfo.resolveViewTypes)
+            throw new IllegalArgumentException("@Sourced cannot be used to resolve view types, override getItemViewType instead");
+        if (parsingInfo.precomputeStride > 0)
+            throw new IllegalArgumentException("@Sourced cannot be used together with @Row(precompute = true)");
+        for (ViewTypeInfo viewTypeInfo : parsingInfo.adapterInfo.values()) {
+            for (RowInfo info : viewTypeInfo.rows.values()) {
+                // nested list states are keyed by item, which are reused
+                if (info.nested != null && parsingInfo.itemIdInfo == null)
+                    throw new IllegalArgumentException("@NestedList rows require an @ItemId when using @Sourced");
+            }
+        }
+    }
+
+    private String parseMatcher(ExecutableElement elem) {
+        if (elem.getParameters().size() != 1 || elem.getReturnType().getKind() != TypeKind.BOOLEAN) {
+            throw new IllegalArgumentException("Invalid @Matches signature. Expecting boolean method with 1 argument (item)");
+        }
+        if (elem.getModifiers().contains(Modifier.STATIC))
+            throw new IllegalArgumentException("@Matches annotated method must not be static");
+        return elem.getSimpleName().toString();
+    }
+
+    private String parseComparator(ExecutableElement elem, Class<?> annotation) {
+        if (elem.getParameters().size() != 2 || elem.getReturnType().getKind() != TypeKind.BOOLEAN) {
+            throw new IllegalArgumentException(String.format("Invalid @%s signature. Expecting boolean method with 2 arguments (oldItem, newItem)", annotation.getSimpleName()));
+        }
+        return elem.getSimpleName().toString();
+    }
+
     private void parseItem(ExecutableElement elem) {
         if (elem.getParameters().size() != 3) {
             throw new IllegalArgumentException("Invalid @Item signature. Expecting 3 arguments (view, position, data)");
@@ -582,6 +3211,58 @@ public class AdapterProcessor extends AbstractProcessor {
         return annotations;
     }
 
+    /**
+     * Lazy way to extract {@link Adapt#type()} at compile-time
+     *
+     * @return item type, never null
+     */
+    private TypeMirror getItemType() {
+        try {
+            parsingInfo.adapt.type();
+        } catch (MirroredTypeException e) {
+            return e.getTypeMirror();
+        }
+        throw new IllegalStateException("Unable to resolve @Adapt type");
+    }
+
+    /**
+     * @return whether the row produces a value which is passed on to a plugin
+     */
+    private boolean hasPluginValue(RowInfo info) {
+        return info.method.resultType.getKind() != TypeKind.VOID
+                && !info.pluginInfo.pluginName.equals(IgnorePlugin.class.getCanonicalName())
+                && info.nested == null;
+    }
+
+    private String lastValueField(int row, int num) {
+        return "lastValue" + row + "x" + num;
+    }
+
+    private String memoizedField(int row, int num) {
+        return "memoized" + row + "x" + num;
+    }
+
+    /**
+     * @return expression evaluating to the item at {@code position}
+     */
+    private String itemAt(String position) {
+        if (parsingInfo.paged != null)
+            return String.format("getItem(%s)", position);
+        return String.format("this.%s.get(%s)", parsingInfo.dataInfo.field, position);
+    }
+
+    private ClassName columnsClass() {
+        return parsingInfo.vhClassName.peerClass(typeUtils.asElement(getItemType()).getSimpleName() + "Columns");
+    }
+
+    private ClassName accessorClass() {
+        return parsingInfo.vhClassName.peerClass(typeUtils.asElement(getItemType()).getSimpleName() + "Accessor");
+    }
+
+    private String payloadRow(int num) {
+        return "PAYLOAD_ROW_" + num;
+    }
+
     private String dataField(int row) {
         return "data" + row;
     }
@@ -605,6 +3286,24 @@ public class AdapterProcessor extends AbstractProcessor {
         private DataInfo dataInfo;
         private ClassName vhClassName;
         private ItemInfo itemInfo;
+        private String sameItem;
+        private String sameContent;
+        private ItemIdInfo itemIdInfo;
+        private Paged paged;
+        private Sourced sourced;
+        private boolean mainHandler;
+        private boolean resolveViewTypes;
+        private int precomputeStride;
+        private boolean deferred;
+        /**
+         * Stateful plugins used by rows, indexed by class name
+         */
+        private final Map<String, StatefulPlugin> statefulPlugins = new TreeMap<>();
+        /**
+         * Stored columns of the item type, null unless the data is columnar
+         */
+        private List<ColumnInfo> columns;
+        private final Set<String> nestedPools = new HashSet<>();
         private String vhRoot;
         private TypeElement element;
         private boolean abstractCreateViewHolder = true;
@@ -613,7 +3312,8 @@ public class AdapterProcessor extends AbstractProcessor {
             pkg = elementUtils.getPackageOf(elem);
             adapterName = elem.getSimpleName() + "Impl";
             vhClassName = ClassName.get(pkg.getQualifiedName().toString(), adapterName).nestedClass(baseVHName);
-            adapterInfo = new HashMap<>();
+            // declaration order, so that view types declared first get dispatched first
+            adapterInfo = new LinkedHashMap<>();
         }
     }
 
@@ -626,6 +3326,42 @@ public class AdapterProcessor extends AbstractProcessor {
             this.element = elem;
             this.data = data;
         }
+
+        String capitalized() {
+            return Character.toUpperCase(field.charAt(0)) + field.substring(1);
+        }
+
+        String versionField() {
+            return field + "Version";
+        }
+
+        String sharedField() {
+            return field + "Shared";
+        }
+
+        String diffMethod() {
+            return "diff" + capitalized();
+        }
+
+        String submitDiffMethod() {
+            return "submit" + capitalized() + "Diff";
+        }
+
+        String postMethod() {
+            return "post" + capitalized();
+        }
+
+        String pendingField() {
+            return "pending" + capitalized();
+        }
+
+        String applyPendingMethod() {
+            return "applyPending" + capitalized();
+        }
+
+        String dropPendingMethod() {
+            return "dropPending" + capitalized();
+        }
     }
 
     private static class ItemInfo {
@@ -640,6 +3376,36 @@ public class AdapterProcessor extends AbstractProcessor {
         }
     }
 
+    private static class ColumnInfo {
+        final String method;
+        final TypeName type;
+        final boolean string;
+
+        private ColumnInfo(String method, TypeName type, boolean string) {
+            this.method = method;
+            this.type = type;
+            this.string = string;
+        }
+
+        String field() {
+            // getAmount -> amountColumn
+            String name = method;
+            if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3)))
+                name = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+            return name + "Column";
+        }
+    }
+
+    private static class ItemIdInfo {
+        final String method;
+        final boolean string;
+
+        private ItemIdInfo(String method, boolean string) {
+            this.method = method;
+            this.string = string;
+        }
+    }
+
     private static class PluginInfo {
         final String pluginName;
         final Plugin plugin;
@@ -670,6 +3436,18 @@ public class AdapterProcessor extends AbstractProcessor {
         final OverridePlugin overridePlugin;
 
         Fields fields;
+        /**
+         * Indices of precomputed values for every dataId or null if the row is not precomputed
+         */
+        int[] precomputeSlots;
+        /**
+         * Nested list displayed by the row or null
+         */
+        NestedInfo nested;
+        /**
+         * Name of the {@link Recycle} annotated method of the row or null
+         */
+        String recycle;
 
         RowInfo(Row row, Label label, OverridePlugin overridePlugin, MethodInfo method, PluginInfo pluginInfo) {
             this.row = row;
@@ -696,15 +3474,43 @@ public class AdapterProcessor extends AbstractProcessor {
         }
     }
 
+    private static class NestedInfo {
+        final ClassName adapter;
+        final String setter;
+        final int initialPrefetch;
+
+        private NestedInfo(ClassName adapter, String setter, int initialPrefetch) {
+            this.adapter = adapter;
+            this.setter = setter;
+            this.initialPrefetch = initialPrefetch;
+        }
+
+        /**
+         * @return name of the pool shared by all nested lists displayed by the same adapter
+         */
+        String poolField() {
+            return "nestedPool" + adapter.simpleName();
+        }
+    }
+
     private class ViewTypeInfo {
         public final int viewType;
         public final TypeElement viewTypeAdapter;
         public final Map<Integer, RowInfo> rows;
+        /**
+         * Item subclass handled by this view type or null
+         */
+        public TypeMirror itemClass;
+        /**
+         * Name of the {@link Matches} annotated method or null
+         */
+        public String matcher;
 
         private ViewTypeInfo(int viewType, TypeElement viewTypeAdapter) {
             this.viewType = viewType;
             this.viewTypeAdapter = viewTypeAdapter;
-            this.rows = new HashMap<>();
+            // sorted by num, so that output does not depend on hashing
+            this.rows = new TreeMap<>();
         }
     }
 }
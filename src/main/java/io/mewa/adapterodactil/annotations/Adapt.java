@@ -12,4 +12,16 @@ public @interface Adapt {
     int layout();
     int viewGroup();
     Class type();
+
+    /**
+     * When set, every ViewHolder remembers the last value of every row and plugins are applied
+     * only to values that changed. Row methods are still called on every bind.
+     */
+    boolean memoize() default false;
+
+    /**
+     * When set, the generated adapter counts and times ViewHolder creation and binding per view type
+     * as well as calls of every {@link Row} method, exposing them through {@code getMetrics()}.
+     */
+    boolean metrics() default false;
 }
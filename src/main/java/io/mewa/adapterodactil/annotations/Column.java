@@ -0,0 +1,12 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a parameterless {@code int}, {@code long}, {@code double} or {@code String} accessor of the item type
+ * stored in a column of the generated adapter when {@link Data#columnar()} is set.
+ */
+@Target(ElementType.METHOD)
+public @interface Column {
+}
@@ -9,4 +9,23 @@ import java.lang.annotation.Target;
 
 @Target(ElementType.METHOD)
 public @interface Data {
+    /**
+     * When set, the generated setter computes the difference between the old and the new data
+     * on a background thread and dispatches fine-grained change notifications on the main thread.
+     * Item identity and equality are resolved using {@link SameItem} and {@link SameContent}.
+     */
+    boolean diff() default false;
+
+    /**
+     * When set, a thread-safe {@code postX} variant of the setter is generated. Lists posted from any thread
+     * are coalesced, so that only the latest one is applied on the main thread, at most once per frame.
+     */
+    boolean coalesce() default false;
+
+    /**
+     * When set, items are not retained. Instead, values of their {@link Column} accessors are copied into
+     * primitive arrays and a table of distinct strings, and rows receive a per-ViewHolder flyweight accessor
+     * of the generated {@code <Item>Accessor} type exposing these values.
+     */
+    boolean columnar() default false;
 }
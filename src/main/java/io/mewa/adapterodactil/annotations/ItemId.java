@@ -0,0 +1,12 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a parameterless {@code long}, {@code int} or {@code String} accessor of the item type
+ * returning a key unique for every item. When present, stable ids are enabled in the generated adapter.
+ */
+@Target(ElementType.METHOD)
+public @interface ItemId {
+}
@@ -0,0 +1,12 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code boolean method(ItemT item)} of a {@link ViewType} annotated class deciding
+ * whether the item should be displayed using that view type.
+ */
+@Target(ElementType.METHOD)
+public @interface Matches {
+}
@@ -0,0 +1,21 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link Row} method returning the items of a horizontal list nested in the row's RecyclerView.
+ * The nested list is displayed using the implementation generated for {@link #adapter()}.
+ */
+@Target(ElementType.METHOD)
+public @interface NestedList {
+    /**
+     * {@link Adapt} annotated adapter of the nested list's items
+     */
+    Class adapter();
+
+    /**
+     * Number of nested items prefetched when the row is about to be displayed
+     */
+    int initialPrefetch() default 4;
+}
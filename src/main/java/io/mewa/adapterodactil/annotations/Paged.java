@@ -0,0 +1,26 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Backs the generated adapter with a page-based source instead of a {@code List}.
+ * Pages are loaded on a background thread as binding approaches them and at most
+ * {@link #maxPages()} of them are kept in memory.
+ */
+@Target(ElementType.TYPE)
+public @interface Paged {
+    int pageSize() default 50;
+
+    /**
+     * Number of items around the bound position which should be loaded ahead
+     */
+    int prefetchDistance() default 25;
+
+    int maxPages() default 10;
+
+    /**
+     * Layout shown while the item's page is loading, defaults to the {@link Adapt#layout()}
+     */
+    int placeholderLayout() default Row.LAYOUT_NONE;
+}
@@ -0,0 +1,14 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method of a {@link ViewType} class releasing what the {@link Row} with the same {@link #num()}
+ * has attached to its views (listeners, spans, pending work), when their ViewHolder is recycled.
+ * Expected signature is {@code void recycle(ViewT view, int id)}, called for every view of the row.
+ */
+@Target(ElementType.METHOD)
+public @interface Recycle {
+    int num();
+}
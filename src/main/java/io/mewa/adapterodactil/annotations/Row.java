@@ -14,4 +14,18 @@ public @interface Row {
     int num();
     int[] dataId();
     int layout() default LAYOUT_NONE;
+
+    /**
+     * When set, the row's values are computed on a background thread after the data changes,
+     * so that binding only has to look them up. The method receives a {@code null} view when
+     * precomputed and must not depend on it.
+     */
+    boolean precompute() default false;
+
+    /**
+     * When set, binding the row is postponed while the list is scrolling. Postponed rows are bound
+     * within a small time budget per frame, and all of them once scrolling stops. Rows postponed
+     * for a ViewHolder which gets recycled are dropped. Only rows with {@code num} below 32 can be deferred.
+     */
+    boolean deferred() default false;
 }
@@ -0,0 +1,12 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code boolean method(ItemT oldItem, ItemT newItem)} deciding whether two items
+ * represent the same entity. Used by {@link Data#diff()}, defaults to {@code equals}.
+ */
+@Target(ElementType.METHOD)
+public @interface SameItem {
+}
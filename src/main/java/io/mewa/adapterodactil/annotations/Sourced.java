@@ -0,0 +1,12 @@
+package io.mewa.adapterodactil.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Backs the generated adapter with a random-access item source instead of a {@code List}.
+ * Only bound items are read from the source, each of them decoded into an instance reused by its ViewHolder.
+ */
+@Target(ElementType.TYPE)
+public @interface Sourced {
+}
@@ -10,4 +10,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface ViewType {
     int value() default 0;
+
+    /**
+     * Subclass of the item type displayed using this view type. When set, or when the class
+     * contains a {@link Matches} annotated method, {@code getItemViewType} is generated.
+     */
+    Class type() default Object.class;
 }
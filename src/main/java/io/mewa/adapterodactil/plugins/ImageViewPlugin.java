@@ -0,0 +1,244 @@
+package io.mewa.adapterodactil.plugins;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Plugin displaying the image file at the returned path in an ImageView. Images are decoded on a background
+ * pool, subsampled to the size of the view once it has been laid out, and kept in an LRU cache keyed by the path
+ * and the view size, bounded by the size of the decoded bitmaps. The cache is a static field of each generated
+ * adapter, so every adapter class displaying images has a budget of its own.
+ * Every view remembers the path it was last bound to, so that decoding is skipped and results are dropped
+ * once the view has been bound to another image.
+ */
+public class ImageViewPlugin implements StatefulPlugin {
+    public static final String IMAGE_VIEW = "android.widget.ImageView";
+
+    private static final ClassName BITMAP = ClassName.get("android.graphics", "Bitmap");
+    private static final ClassName BITMAP_FACTORY = ClassName.get("android.graphics", "BitmapFactory");
+    private static final ClassName LRU_CACHE = ClassName.get("android.util", "LruCache");
+    private static final ClassName HANDLER = ClassName.get("android.os", "Handler");
+    private static final ClassName LOOPER = ClassName.get("android.os", "Looper");
+    private static final ClassName IMAGE_VIEW_CLASS = ClassName.bestGuess(IMAGE_VIEW);
+    private static final ClassName VIEW = ClassName.get("android.view", "View");
+    private static final ClassName LAYOUT_CHANGE_LISTENER = VIEW.nestedClass("OnLayoutChangeListener");
+    private static final ClassName COMPONENT_CALLBACKS = ClassName.get("android.content", "ComponentCallbacks2");
+
+    private static final String IMAGE = "Image";
+    private static final String IMAGE_LAYOUT = "ImageLayout";
+    private static final String IMAGE_EXECUTOR = "IMAGE_EXECUTOR";
+    private static final String IMAGE_CACHE = "IMAGE_CACHE";
+    private static final String IMAGE_HANDLER = "IMAGE_HANDLER";
+    private static final String LOAD_IMAGE = "loadImage";
+    private static final String REQUEST_IMAGE = "requestImage";
+    private static final String DECODE_IMAGE = "decodeImage";
+    private static final int DECODE_THREADS = 2;
+    /**
+     * Fraction of the maximum heap size taken by the cache of each adapter class
+     */
+    private static final int CACHE_DIVISOR = 8;
+
+    private static final TypeName REQUEST = ParameterizedTypeName.get(AtomicReference.class, String.class);
+
+    @Override
+    public String forElement() {
+        return IMAGE_VIEW;
+    }
+
+    @Override
+    public CodeBlock process(int num, String view, Object result) {
+        return CodeBlock.builder()
+                .addStatement("$L($L, $L, $L, $L)", LOAD_IMAGE, view, view + IMAGE, view + IMAGE_LAYOUT, result)
+                .build();
+    }
+
+    @Override
+    public List<FieldSpec> viewHolderFields(String view) {
+        String request = view + IMAGE;
+        MethodSpec.Builder onLayoutChange = MethodSpec.methodBuilder("onLayoutChange")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(VIEW, "v");
+        for (String bound : new String[]{"left", "top", "right", "bottom", "oldLeft", "oldTop", "oldRight", "oldBottom"})
+            onLayoutChange.addParameter(TypeName.INT, bound);
+        TypeSpec laidOut = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(LAYOUT_CHANGE_LISTENER)
+                .addMethod(onLayoutChange
+                        .addStatement("v.removeOnLayoutChangeListener(this)")
+                        .addStatement("$T path = $L.get()", String.class, request)
+                        .beginControlFlow("if (path != null)")
+                        .addStatement("$L(($T) v, $L, path)", REQUEST_IMAGE, IMAGE_VIEW_CLASS, request)
+                        .endControlFlow()
+                        .build())
+                .build();
+
+        return Arrays.asList(
+                FieldSpec.builder(REQUEST, request, Modifier.FINAL)
+                        .addJavadoc("Path of the image the view has been bound to last\n")
+                        .initializer("new $T<>()", AtomicReference.class)
+                        .build(),
+                FieldSpec.builder(LAYOUT_CHANGE_LISTENER, view + IMAGE_LAYOUT, Modifier.FINAL)
+                        .addJavadoc("Requests the image the view has been bound to last once it is laid out\n")
+                        .initializer("$L", laidOut)
+                        .build());
+    }
+
+    @Override
+    public CodeBlock recycle(String view) {
+        // pooled views neither keep their bitmaps nor receive pending ones
+        return CodeBlock.builder()
+                .addStatement("$L.set(null)", view + IMAGE)
+                .addStatement("$L.removeOnLayoutChangeListener($L)", view, view + IMAGE_LAYOUT)
+                .addStatement("$L.setImageDrawable(null)", view)
+                .build();
+    }
+
+    @Override
+    public CodeBlock trimMemory(String level) {
+        return CodeBlock.builder()
+                .beginControlFlow("if ($L >= $T.TRIM_MEMORY_UI_HIDDEN)", level, COMPONENT_CALLBACKS)
+                .addStatement("$L.evictAll()", IMAGE_CACHE)
+                .nextControlFlow("else if ($L >= $T.TRIM_MEMORY_RUNNING_LOW)", level, COMPONENT_CALLBACKS)
+                .addStatement("$L.trimToSize($L.maxSize() / 2)", IMAGE_CACHE, IMAGE_CACHE)
+                .endControlFlow()
+                .build();
+    }
+
+    @Override
+    public List<FieldSpec> adapterFields() {
+        TypeSpec cache = TypeSpec.anonymousClassBuilder("(int) $T.min($T.getRuntime().maxMemory() / $L, $T.MAX_VALUE)",
+                Math.class, Runtime.class, CACHE_DIVISOR, Integer.class)
+                .superclass(ParameterizedTypeName.get(LRU_CACHE, ClassName.get(String.class), BITMAP))
+                .addMethod(MethodSpec.methodBuilder("sizeOf")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PROTECTED)
+                        .addParameter(String.class, "key")
+                        .addParameter(BITMAP, "value")
+                        .returns(TypeName.INT)
+                        .addStatement("return value.getByteCount()")
+                        .build())
+                .build();
+
+        return Arrays.asList(
+                FieldSpec.builder(Executor.class, IMAGE_EXECUTOR, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.newFixedThreadPool($L)", Executors.class, DECODE_THREADS)
+                        .build(),
+                FieldSpec.builder(ParameterizedTypeName.get(LRU_CACHE, ClassName.get(String.class), BITMAP), IMAGE_CACHE,
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$L", cache)
+                        .build(),
+                FieldSpec.builder(HANDLER, IMAGE_HANDLER, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T($T.getMainLooper())", HANDLER, LOOPER)
+                        .build());
+    }
+
+    @Override
+    public List<MethodSpec> adapterMethods() {
+        TypeSpec show = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .beginControlFlow("if (path.equals(request.get()))")
+                        .addStatement("view.setImageBitmap(bitmap)")
+                        .endControlFlow()
+                        .build())
+                .build();
+
+        TypeSpec decode = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Runnable.class)
+                .addMethod(MethodSpec.methodBuilder("run")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addComment("the view has been bound to another image in the meantime")
+                        .beginControlFlow("if (!path.equals(request.get()))")
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("final $T bitmap = $L(path, width, height)", BITMAP, DECODE_IMAGE)
+                        .beginControlFlow("if (bitmap == null)")
+                        .addStatement("return")
+                        .endControlFlow()
+                        .addStatement("$L.put(key, bitmap)", IMAGE_CACHE)
+                        .addStatement("$L.post($L)", IMAGE_HANDLER, show)
+                        .build())
+                .build();
+
+        MethodSpec load = MethodSpec.methodBuilder(LOAD_IMAGE)
+                .addJavadoc("Displays the image at {@code path} in {@code view}, decoding it in the background unless it is cached\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(IMAGE_VIEW_CLASS, "view", Modifier.FINAL)
+                .addParameter(REQUEST, "request", Modifier.FINAL)
+                .addParameter(LAYOUT_CHANGE_LISTENER, "layout")
+                .addParameter(String.class, "path", Modifier.FINAL)
+                .addStatement("request.set(path)")
+                .addComment("at most one listener is pending, requesting whichever image was bound last")
+                .addStatement("view.removeOnLayoutChangeListener(layout)")
+                .beginControlFlow("if (path == null)")
+                .addStatement("view.setImageBitmap(null)")
+                .addStatement("return")
+                .endControlFlow()
+                .addComment("the size is not known before the first layout")
+                .beginControlFlow("if (view.getWidth() == 0 || view.getHeight() == 0)")
+                .addStatement("view.setImageBitmap(null)")
+                .addStatement("view.addOnLayoutChangeListener(layout)")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("$L(view, request, path)", REQUEST_IMAGE)
+                .build();
+
+        MethodSpec request = MethodSpec.methodBuilder(REQUEST_IMAGE)
+                .addJavadoc("Displays the image at {@code path} decoded for the current size of {@code view}, which is\n")
+                .addJavadoc("decoded at full size if the view is still empty, as when it wraps its content\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(IMAGE_VIEW_CLASS, "view", Modifier.FINAL)
+                .addParameter(REQUEST, "request", Modifier.FINAL)
+                .addParameter(String.class, "path", Modifier.FINAL)
+                .addStatement("final int width = view.getWidth()")
+                .addStatement("final int height = view.getHeight()")
+                .addComment("views of other sizes get images subsampled for them")
+                .addStatement("final $T key = width + \"x\" + height + \":\" + path", String.class)
+                .addStatement("$T cached = $L.get(key)", BITMAP, IMAGE_CACHE)
+                .addStatement("view.setImageBitmap(cached)")
+                .beginControlFlow("if (cached == null)")
+                .addStatement("$L.execute($L)", IMAGE_EXECUTOR, decode)
+                .endControlFlow()
+                .build();
+
+        MethodSpec decodeImage = MethodSpec.methodBuilder(DECODE_IMAGE)
+                .addJavadoc("Decodes the image at {@code path}, subsampled by the largest power of 2 keeping it\n")
+                .addJavadoc("at least as large as {@code width} x {@code height} if they are known\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(String.class, "path")
+                .addParameter(TypeName.INT, "width")
+                .addParameter(TypeName.INT, "height")
+                .returns(BITMAP)
+                .addStatement("$T.Options options = new $T.Options()", BITMAP_FACTORY, BITMAP_FACTORY)
+                .beginControlFlow("if (width > 0 && height > 0)")
+                .addStatement("options.inJustDecodeBounds = true")
+                .addStatement("$T.decodeFile(path, options)", BITMAP_FACTORY)
+                .addStatement("int sample = 1")
+                .beginControlFlow("while (options.outWidth / (sample * 2) >= width && options.outHeight / (sample * 2) >= height)")
+                .addStatement("sample *= 2")
+                .endControlFlow()
+                .addStatement("options.inSampleSize = sample")
+                .addStatement("options.inJustDecodeBounds = false")
+                .endControlFlow()
+                .addStatement("return $T.decodeFile(path, options)", BITMAP_FACTORY)
+                .build();
+
+        return Arrays.asList(load, request, decodeImage);
+    }
+}
@@ -0,0 +1,19 @@
+package io.mewa.adapterodactil.plugins;
+
+import com.squareup.javapoet.CodeBlock;
+
+/**
+ * Plugin marking rows annotated with #{@link io.mewa.adapterodactil.annotations.NestedList},
+ * the binding code of which is generated by the processor itself
+ */
+public class NestedListPlugin implements Plugin {
+    @Override
+    public String forElement() {
+        return "android.support.v7.widget.RecyclerView";
+    }
+
+    @Override
+    public CodeBlock process(int num, String view, Object result) {
+        throw new IllegalArgumentException("stub");
+    }
+}
@@ -0,0 +1,129 @@
+package io.mewa.adapterodactil.plugins;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Plugin setting TextView's text to a returned int, long or double without allocating,
+ * by writing its digits into a reusable per view char buffer
+ */
+public class NumberTextViewPlugin implements StatefulPlugin {
+    private static final String FORMAT_NUMBER = "formatNumber";
+    private static final String CHARS = "Chars";
+    /**
+     * Fits any long as well as any double returned by {@code String.valueOf}
+     */
+    private static final int BUFFER_SIZE = 32;
+    private static final int FRACTION_DIGITS = 6;
+
+    @Override
+    public String forElement() {
+        return TextViewPlugin.TEXT_VIEW;
+    }
+
+    @Override
+    public CodeBlock process(int num, String view, Object result) {
+        String chars = view + CHARS;
+        String start = result + "Start";
+        // TextView keeps a reference to the buffer instead of copying it, hence one buffer per view
+        return CodeBlock.builder()
+                .addStatement("int $L = $L($L, $L)", start, FORMAT_NUMBER, result, chars)
+                .addStatement("$L.setText($L, $L, $L.length - $L)", view, chars, start, chars, start)
+                .build();
+    }
+
+    @Override
+    public List<FieldSpec> viewHolderFields(String view) {
+        return Collections.singletonList(FieldSpec.builder(char[].class, view + CHARS, Modifier.FINAL)
+                .initializer("new char[$L]", BUFFER_SIZE)
+                .build());
+    }
+
+    @Override
+    public CodeBlock recycle(String view) {
+        // the buffer is reused by the next bind
+        return CodeBlock.of("");
+    }
+
+    @Override
+    public CodeBlock trimMemory(String level) {
+        return CodeBlock.of("");
+    }
+
+    @Override
+    public List<FieldSpec> adapterFields() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<MethodSpec> adapterMethods() {
+        MethodSpec formatLong = MethodSpec.methodBuilder(FORMAT_NUMBER)
+                .addJavadoc("Writes {@code value} at the end of {@code buffer}\n")
+                .addJavadoc("@return index of the first written char\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(TypeName.LONG, "value")
+                .addParameter(char[].class, "buffer")
+                .returns(TypeName.INT)
+                .addStatement("int pos = buffer.length")
+                .addStatement("boolean negative = value < 0")
+                .addComment("work on negative values, which can also represent Long.MIN_VALUE")
+                .beginControlFlow("if (!negative)")
+                .addStatement("value = -value")
+                .endControlFlow()
+                .beginControlFlow("do")
+                .addStatement("buffer[--pos] = (char) ('0' - value % 10)")
+                .addStatement("value /= 10")
+                .endControlFlow("while (value != 0)")
+                .beginControlFlow("if (negative)")
+                .addStatement("buffer[--pos] = '-'")
+                .endControlFlow()
+                .addStatement("return pos")
+                .build();
+
+        MethodSpec formatDouble = MethodSpec.methodBuilder(FORMAT_NUMBER)
+                .addJavadoc("Writes {@code value} rounded to $L fraction digits at the end of {@code buffer}.\n", FRACTION_DIGITS)
+                .addJavadoc("Values which {@code String.valueOf} prints in scientific notation are written the same way.\n")
+                .addJavadoc("@return index of the first written char\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(TypeName.DOUBLE, "value")
+                .addParameter(char[].class, "buffer")
+                .returns(TypeName.INT)
+                .addStatement("double abs = $T.abs(value)", Math.class)
+                .beginControlFlow("if (abs >= 1e7 || (abs < 1e-3 && value != 0) || abs != abs)")
+                .addStatement("$T text = $T.valueOf(value)", String.class, String.class)
+                .addStatement("text.getChars(0, text.length(), buffer, buffer.length - text.length())")
+                .addStatement("return buffer.length - text.length()")
+                .endControlFlow()
+                .addStatement("long scaled = $T.round(abs * 1e$L)", Math.class, FRACTION_DIGITS)
+                .addStatement("int fraction = $L", FRACTION_DIGITS)
+                .beginControlFlow("while (fraction > 1 && scaled % 10 == 0)")
+                .addStatement("scaled /= 10")
+                .addStatement("fraction--")
+                .endControlFlow()
+                .addStatement("int pos = buffer.length")
+                .beginControlFlow("for (; fraction > 0; fraction--)")
+                .addStatement("buffer[--pos] = (char) ('0' + scaled % 10)")
+                .addStatement("scaled /= 10")
+                .endControlFlow()
+                .addStatement("buffer[--pos] = '.'")
+                .beginControlFlow("do")
+                .addStatement("buffer[--pos] = (char) ('0' + scaled % 10)")
+                .addStatement("scaled /= 10")
+                .endControlFlow("while (scaled != 0)")
+                .beginControlFlow("if (value < 0)")
+                .addStatement("buffer[--pos] = '-'")
+                .endControlFlow()
+                .addStatement("return pos")
+                .build();
+
+        return Arrays.asList(formatLong, formatDouble);
+    }
+}
@@ -0,0 +1,42 @@
+package io.mewa.adapterodactil.plugins;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+
+import java.util.List;
+
+/**
+ * Plugin which keeps per view state in the generated ViewHolder and may rely on helper
+ * methods generated once per adapter
+ */
+public interface StatefulPlugin extends Plugin {
+    /**
+     * @param view name of the ViewHolder field holding the view
+     * @return fields added to the ViewHolder, names must be prefixed with {@code view}
+     */
+    List<FieldSpec> viewHolderFields(String view);
+
+    /**
+     * @param view expression evaluating to the view of a ViewHolder being recycled, fields returned
+     *             by {@link #viewHolderFields} are accessible by appending their suffixes to it
+     * @return statements releasing what has been attached to the view and its fields
+     */
+    CodeBlock recycle(String view);
+
+    /**
+     * @param level name of the variable holding the {@code ComponentCallbacks2} trim level
+     * @return statements shrinking the state shared by the helper methods
+     */
+    CodeBlock trimMemory(String level);
+
+    /**
+     * @return private static fields shared by the helper methods, added to the adapter
+     */
+    List<FieldSpec> adapterFields();
+
+    /**
+     * @return private helper methods added to the adapter
+     */
+    List<MethodSpec> adapterMethods();
+}